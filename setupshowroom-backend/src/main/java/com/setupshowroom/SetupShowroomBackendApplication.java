@@ -1,5 +1,7 @@
 package com.setupshowroom;
 
+import com.setupshowroom.feed.FeedConfigProps;
+import com.setupshowroom.notification.NotificationStreamConfigProps;
 import com.setupshowroom.shared.contentmoderation.ContentModerationConfigProps;
 import com.setupshowroom.shared.storage.s3.S3StorageBackendConfigProps;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +15,9 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @SpringBootApplication
 @EnableConfigurationProperties({
   S3StorageBackendConfigProps.class,
-  ContentModerationConfigProps.class
+  ContentModerationConfigProps.class,
+  FeedConfigProps.class,
+  NotificationStreamConfigProps.class
 })
 @EnableJpaRepositories
 @EnableFeignClients
@@ -37,6 +37,9 @@ import org.jetbrains.annotations.NotNull;
 @AllArgsConstructor
 @Builder
 public class Comment implements Comparable<Comment> {
+  public static final String PATH_SEPARATOR = "/";
+  public static final int MAX_DEPTH = 2;
+
   @Id
   @Column(unique = true, length = 26, nullable = false, updatable = false)
   private String id;
@@ -66,6 +69,12 @@ public class Comment implements Comparable<Comment> {
   @Column(nullable = false)
   private int depth = 0;
 
+  @Column(nullable = false, updatable = false, length = 84)
+  private String path;
+
+  @Column(name = "like_count", nullable = false, insertable = false, updatable = false)
+  private long likeCount;
+
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id", nullable = false)
   private User user;
@@ -78,9 +87,13 @@ public class Comment implements Comparable<Comment> {
   @PrePersist
   @PreUpdate
   public void validateComment() {
+    if (this.path == null) {
+      this.path = this.parent == null ? this.id : this.parent.getPath() + PATH_SEPARATOR + this.id;
+    }
+
     if (this.parent != null) {
       this.depth = this.parent.getDepth() + 1;
-      if (this.depth > 2) {
+      if (this.depth > MAX_DEPTH) {
         throw new IllegalStateException("Maximum comment depth exceeded");
       }
 
@@ -0,0 +1,28 @@
+package com.setupshowroom.comment;
+
+import com.setupshowroom.comment.dto.CommentInfo;
+import com.setupshowroom.shared.pagination.CursorCodec;
+import jakarta.validation.ValidationException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import org.jetbrains.annotations.NotNull;
+
+public record CommentCursor(@NotNull Instant createdAt, @NotNull String id) {
+  public static @NotNull CommentCursor of(final @NotNull CommentInfo comment) {
+    return new CommentCursor(comment.getCreatedAt(), comment.getId());
+  }
+
+  public static @NotNull CommentCursor decode(final @NotNull String cursor) {
+    final String[] parts = CursorCodec.decode(cursor, 2);
+
+    try {
+      return new CommentCursor(Instant.parse(parts[0]), parts[1]);
+    } catch (final DateTimeParseException e) {
+      throw new ValidationException("invalidCursor");
+    }
+  }
+
+  public @NotNull String encode() {
+    return CursorCodec.encode(this.createdAt.toString(), this.id);
+  }
+}
@@ -0,0 +1,62 @@
+package com.setupshowroom.comment;
+
+import java.util.Objects;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Walks the comments in id batches, each in its own short transaction, so a run never holds
+// row locks on more than one batch. Every batch takes the repair lock; a replica that finds it
+// taken leaves the run to the one holding it.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentLikeCountReconciler {
+  private static final String LOCK_NAME = "comment_like_count_repair";
+  private static final int BATCH_SIZE = 5_000;
+
+  private final @NotNull CommentRepository commentRepository;
+  private final @NotNull TransactionTemplate transactionTemplate;
+
+  @Scheduled(cron = "0 30 4 * * *")
+  public void reconcileLikeCounts() {
+    String afterId = "";
+    int repaired = 0;
+
+    while (true) {
+      final Optional<Batch> batch = this.repairBatch(afterId);
+
+      if (batch.isEmpty()) {
+        break;
+      }
+      afterId = batch.get().lastId();
+      repaired += batch.get().repaired();
+    }
+
+    log.info("Comment like counts reconciled, {} drifted comments repaired", repaired);
+  }
+
+  private @NotNull Optional<Batch> repairBatch(final @NotNull String afterId) {
+    final Optional<Batch> batch =
+        this.transactionTemplate.execute(
+            status -> {
+              if (!this.commentRepository.tryAdvisoryLock(LOCK_NAME)) {
+                return Optional.empty();
+              }
+
+              return this.commentRepository
+                  .findIdBatchEnd(afterId, BATCH_SIZE)
+                  .map(
+                      lastId ->
+                          new Batch(
+                              lastId, this.commentRepository.reconcileLikeCounts(afterId, lastId)));
+            });
+    return Objects.requireNonNullElse(batch, Optional.empty());
+  }
+
+  private record Batch(@NotNull String lastId, int repaired) {}
+}
@@ -1,8 +1,13 @@
 package com.setupshowroom.comment;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -10,4 +15,63 @@ public interface CommentLikeRepository extends JpaRepository<CommentLike, String
   @NotNull
   Optional<CommentLike> findByUserIdAndCommentIdAndDeletedFalse(
       @NotNull String userId, @NotNull String commentId);
+
+  @Query(
+      """
+      select cl.comment.id
+      from CommentLike cl
+      where cl.user.id = :userId
+      and cl.deleted = false
+      and cl.comment.id in :commentIds
+      """)
+  @NotNull
+  List<String> findLikedCommentIds(@NotNull String userId, @NotNull Collection<String> commentIds);
+
+  @Modifying
+  @Query(
+      value =
+          """
+      with liked as (
+        insert into comment_like (id, user_id, comment_id, deleted, created_at, updated_at)
+        select :id, :userId, c.id, false, :now, :now
+        from comment c
+        where c.id = :commentId
+        and c.setup_id = :setupId
+        and c.deleted = false
+        on conflict (user_id, comment_id) do update
+        set deleted = false, deleted_at = null, updated_at = excluded.updated_at
+        where comment_like.deleted = true
+        returning comment_id
+      )
+      update comment c
+      set like_count = c.like_count + 1
+      from liked l
+      where c.id = l.comment_id
+      """,
+      nativeQuery = true)
+  int insertCommentLike(
+      @NotNull String id,
+      @NotNull String userId,
+      @NotNull String commentId,
+      @NotNull String setupId,
+      @NotNull Instant now);
+
+  @Modifying
+  @Query(
+      value =
+          """
+      with unliked as (
+        delete from comment_like
+        where user_id = :userId
+        and comment_id = :commentId
+        and deleted = false
+        returning comment_id
+      )
+      update comment c
+      set like_count = greatest(c.like_count - 1, 0)
+      from unliked u
+      where c.id = u.comment_id
+      """,
+      nativeQuery = true)
+  int deleteCommentLike(@NotNull String userId, @NotNull String commentId);
 }
@@ -1,11 +1,14 @@
 package com.setupshowroom.comment;
 
 import com.setupshowroom.comment.dto.CommentInfo;
+import com.setupshowroom.comment.dto.PublicCommentInfo;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -18,8 +21,53 @@ public interface CommentRepository extends JpaRepository<Comment, String> {
   @NotNull
   Optional<Comment> findByIdAndSetupIdAndDeletedFalse(@NotNull String id, @NotNull String setupId);
 
+  boolean existsByIdAndSetupIdAndDeletedFalse(@NotNull String id, @NotNull String setupId);
+
   long countBySetupIdAndDeletedFalse(String id);
 
+  @Modifying
+  @Query(
+      value =
+          """
+      insert into comment
+        (id, setup_id, content, depth, path, user_id, deleted, created_at, updated_at)
+      select :id, s.id, :content, 0, :id, :userId, false, :now, :now
+      from setup s
+      where s.id = :setupId
+      and s.deleted = false
+      """,
+      nativeQuery = true)
+  int insertRootComment(
+      @NotNull String id,
+      @NotNull String setupId,
+      @NotNull String userId,
+      @NotNull String content,
+      @NotNull Instant now);
+
+  // Streams on public pages are unauthenticated, so the author's email is left out.
+  @Query(
+      value =
+          """
+            select new com.setupshowroom.comment.dto.PublicCommentInfo(
+                c.id,
+                new com.setupshowroom.user.dto.PublicUserInfo(
+                    c.user.id,
+                    c.user.fullName,
+                    c.user.username,
+                    c.user.profession
+                ),
+                c.content,
+                c.embeddedTimestamps.createdAt,
+                c.embeddedTimestamps.updatedAt,
+                c.likeCount
+            )
+            from Comment c
+            where c.id = :commentId and c.setup.id = :setupId and c.deleted = false
+            """)
+  @NotNull
+  Optional<PublicCommentInfo> findPublicCommentInfo(
+      @NotNull String commentId, @NotNull String setupId);
+
   @Query(
       value =
           """
@@ -36,10 +84,8 @@ public interface CommentRepository extends JpaRepository<Comment, String> {
                 c.content,
                 c.embeddedTimestamps.createdAt,
                 c.embeddedTimestamps.updatedAt,
-                case when exists (select 1 from CommentLike cl
-                            where cl.comment.id = c.id and cl.user.id = :userId)
-                                        then true else false end,
-                (select count (cl) from CommentLike cl where cl.comment.id = c.id and cl.deleted = false)
+                false,
+                c.likeCount
             )
             from Comment c
             where c.setup.id = :setupId and c.deleted = false
@@ -47,5 +93,219 @@ public interface CommentRepository extends JpaRepository<Comment, String> {
             """)
   @NotNull
   List<CommentInfo> findAllCommentInfoBySetupIdAndDeletedFalse(
-      @NotNull String setupId, @NotNull String userId, @NotNull Pageable pageable);
+      @NotNull String setupId, @NotNull Pageable pageable);
+
+  @Query(
+      value =
+          """
+            select new com.setupshowroom.comment.dto.CommentInfo(
+                c.id,
+                new com.setupshowroom.user.dto.UserInfo(
+                    c.user.id,
+                    c.user.fullName,
+                    c.user.email,
+                    c.user.username,
+                    c.user.profession,
+                    c.user.enabled
+                ),
+                c.content,
+                c.embeddedTimestamps.createdAt,
+                c.embeddedTimestamps.updatedAt,
+                false,
+                c.likeCount
+            )
+            from Comment c
+            where c.setup.id = :setupId and c.deleted = false
+            and (c.embeddedTimestamps.createdAt, c.id) < (:afterCreatedAt, :afterId)
+            order by c.embeddedTimestamps.createdAt desc, c.id desc
+            """)
+  @NotNull
+  List<CommentInfo> findAllCommentInfoBySetupIdAndDeletedFalseAfter(
+      @NotNull String setupId,
+      @NotNull Instant afterCreatedAt,
+      @NotNull String afterId,
+      @NotNull Pageable pageable);
+
+  // A reply is only visible while none of its ancestors is deleted. The ancestors are the
+  // segments of its path, so that check is a handful of primary key lookups. Reply counts are
+  // aggregated once over each scanned subtree instead of being counted row by row.
+  @Query(
+      value =
+          """
+      with roots as (
+        select r.id, r.path, r.created_at
+        from comment r
+        where r.setup_id = :setupId
+        and r.depth = 0
+        and r.deleted = false
+        and (:first or (r.created_at, r.id) < (:afterCreatedAt, :afterId))
+        order by r.created_at desc, r.id desc
+        limit :size
+      ),
+      subtree as (
+        select r.id as root_id, d.id, d.path, d.depth
+        from roots r
+        join comment d on d.setup_id = :setupId
+          and d.path > r.path || '/'
+          and d.path < r.path || '0'
+          and d.deleted = false
+        where not exists (
+          select 1 from comment a
+          where a.id = any(string_to_array(d.path, '/'))
+          and a.deleted = true
+        )
+      ),
+      reply_counts as (
+        select a.id, count(*) as reply_count
+        from subtree s
+        cross join lateral unnest(string_to_array(s.path, '/')) with ordinality as a(id, position)
+        where a.position <= s.depth
+        group by a.id
+      ),
+      threads as (
+        select r.id as comment_id, r.created_at as root_created_at, r.id as root_id, 0 as position
+        from roots r
+        union all
+        select x.id, r.created_at, r.id, x.position
+        from roots r
+        cross join lateral (
+          select s.id, row_number() over (order by s.path) as position
+          from subtree s
+          where s.root_id = r.id
+          order by s.path
+          limit :replyLimit
+        ) x
+      )
+      select split_part(c.path, '/', 1) as rootId,
+        c.id as id,
+        c.parent_id as parentId,
+        c.depth as depth,
+        c.path as path,
+        c.content as content,
+        cast(c.created_at as timestamptz) as createdAt,
+        cast(c.updated_at as timestamptz) as updatedAt,
+        u.id as userId,
+        u.full_name as fullName,
+        u.email as email,
+        u.username as username,
+        u.profession as profession,
+        u.enabled as enabled,
+        c.like_count as likeCount,
+        coalesce(rc.reply_count, 0) as replyCount
+      from threads t
+      join comment c on c.id = t.comment_id
+      join "user" u on u.id = c.user_id
+      left join reply_counts rc on rc.id = c.id
+      order by t.root_created_at desc, t.root_id desc, t.position
+      """,
+      nativeQuery = true)
+  @NotNull
+  List<CommentThreadRow> findThreads(
+      @NotNull String setupId,
+      boolean first,
+      @NotNull Instant afterCreatedAt,
+      @NotNull String afterId,
+      int size,
+      int replyLimit);
+
+  @Query(
+      value =
+          """
+      with subtree as (
+        select d.id, d.path, d.depth
+        from comment d
+        where d.setup_id = :setupId
+        and d.path > :parentPath || '/'
+        and d.path < :parentPath || '0'
+        and d.deleted = false
+        and not exists (
+          select 1 from comment a
+          where a.id = any(string_to_array(d.path, '/'))
+          and a.deleted = true
+        )
+      ),
+      page as (
+        select s.id, s.path
+        from subtree s
+        where s.path > :afterPath
+        order by s.path
+        limit :size
+      ),
+      reply_counts as (
+        select a.id, count(*) as reply_count
+        from subtree s
+        cross join lateral unnest(string_to_array(s.path, '/')) with ordinality as a(id, position)
+        where a.position <= s.depth
+        group by a.id
+      )
+      select split_part(c.path, '/', 1) as rootId,
+        c.id as id,
+        c.parent_id as parentId,
+        c.depth as depth,
+        c.path as path,
+        c.content as content,
+        cast(c.created_at as timestamptz) as createdAt,
+        cast(c.updated_at as timestamptz) as updatedAt,
+        u.id as userId,
+        u.full_name as fullName,
+        u.email as email,
+        u.username as username,
+        u.profession as profession,
+        u.enabled as enabled,
+        c.like_count as likeCount,
+        coalesce(rc.reply_count, 0) as replyCount
+      from page p
+      join comment c on c.id = p.id
+      join "user" u on u.id = c.user_id
+      left join reply_counts rc on rc.id = c.id
+      order by p.path
+      """,
+      nativeQuery = true)
+  @NotNull
+  List<CommentThreadRow> findReplies(
+      @NotNull String setupId, @NotNull String parentPath, @NotNull String afterPath, int size);
+
+  @Query(value = "select pg_try_advisory_xact_lock(hashtext(:name))", nativeQuery = true)
+  boolean tryAdvisoryLock(@NotNull String name);
+
+  @Query(
+      value =
+          """
+      select max(b.id)
+      from (
+        select c.id
+        from comment c
+        where c.id > :afterId
+        order by c.id
+        limit :size
+      ) b
+      """,
+      nativeQuery = true)
+  @NotNull
+  Optional<String> findIdBatchEnd(@NotNull String afterId, int size);
+
+  // Repairs the comments in (:afterId, :lastId]. A row is only written if its like count is
+  // still the one the counts were taken against; a like committed in between changes it, and
+  // the row waits for the next run instead of being overwritten with a stale count.
+  @Modifying
+  @Query(
+      value =
+          """
+      with actual as (
+        select c.id, c.like_count as observed, count(cl.id) as like_count
+        from comment c
+        left join comment_like cl on cl.comment_id = c.id and cl.deleted = false
+        where c.id > :afterId
+        and c.id <= :lastId
+        group by c.id, c.like_count
+      )
+      update comment c
+      set like_count = a.like_count
+      from actual a
+      where a.id = c.id
+      and a.observed <> a.like_count
+      and c.like_count = a.observed
+      """,
+      nativeQuery = true)
+  int reconcileLikeCounts(@NotNull String afterId, @NotNull String lastId);
 }
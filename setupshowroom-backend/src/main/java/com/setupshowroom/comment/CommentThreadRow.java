@@ -0,0 +1,37 @@
+package com.setupshowroom.comment;
+
+import java.time.OffsetDateTime;
+
+public interface CommentThreadRow {
+  String getRootId();
+
+  String getId();
+
+  String getParentId();
+
+  Integer getDepth();
+
+  String getPath();
+
+  String getContent();
+
+  OffsetDateTime getCreatedAt();
+
+  OffsetDateTime getUpdatedAt();
+
+  String getUserId();
+
+  String getFullName();
+
+  String getEmail();
+
+  String getUsername();
+
+  String getProfession();
+
+  Boolean getEnabled();
+
+  Long getLikeCount();
+
+  Long getReplyCount();
+}
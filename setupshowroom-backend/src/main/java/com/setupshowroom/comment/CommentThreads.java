@@ -0,0 +1,84 @@
+package com.setupshowroom.comment;
+
+import com.setupshowroom.comment.dto.CommentInfo;
+import com.setupshowroom.comment.dto.CommentThreadInfo;
+import com.setupshowroom.shared.pagination.CursorCodec;
+import com.setupshowroom.user.dto.UserInfo;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+@UtilityClass
+public final class CommentThreads {
+  public static @NotNull List<CommentThreadInfo> toThreads(
+      final @NotNull List<CommentThreadRow> rows, final @NotNull Set<String> likedIds) {
+    final Map<String, CommentThreadRow> roots = new LinkedHashMap<>();
+    final Map<String, List<CommentThreadRow>> replies = new LinkedHashMap<>();
+
+    for (final CommentThreadRow row : rows) {
+      if (row.getId().equals(row.getRootId())) {
+        roots.put(row.getId(), row);
+        replies.put(row.getId(), new ArrayList<>());
+      } else {
+        replies.computeIfAbsent(row.getRootId(), id -> new ArrayList<>()).add(row);
+      }
+    }
+
+    return roots.values().stream()
+        .map(
+            root -> {
+              final List<CommentThreadRow> threadReplies = replies.get(root.getId());
+              final boolean hasMore = root.getReplyCount() > threadReplies.size();
+
+              return toInfo(root, likedIds).toBuilder()
+                  .replies(threadReplies.stream().map(reply -> toInfo(reply, likedIds)).toList())
+                  .repliesCursor(hasMore ? cursorAfter(threadReplies, root) : null)
+                  .build();
+            })
+        .toList();
+  }
+
+  public static @NotNull CommentThreadInfo toInfo(
+      final @NotNull CommentThreadRow row, final @NotNull Set<String> likedIds) {
+    final UserInfo author =
+        UserInfo.builder()
+            .id(row.getUserId())
+            .fullName(row.getFullName())
+            .email(row.getEmail())
+            .username(row.getUsername())
+            .profession(row.getProfession())
+            .enabled(Boolean.TRUE.equals(row.getEnabled()))
+            .build();
+
+    return CommentThreadInfo.builder()
+        .comment(
+            new CommentInfo(
+                row.getId(),
+                author,
+                row.getContent(),
+                row.getCreatedAt().toInstant(),
+                row.getUpdatedAt().toInstant(),
+                likedIds.contains(row.getId()),
+                row.getLikeCount()))
+        .parentId(row.getParentId())
+        .depth(row.getDepth())
+        .replyCount(row.getReplyCount())
+        .build();
+  }
+
+  public static @Nullable String cursorOf(final @NotNull List<CommentThreadRow> rows) {
+    return rows.isEmpty() ? null : CursorCodec.encode(rows.getLast().getPath());
+  }
+
+  private static @NotNull String cursorAfter(
+      final @NotNull List<CommentThreadRow> replies, final @NotNull CommentThreadRow root) {
+    return replies.isEmpty()
+        ? CursorCodec.encode(root.getPath() + Comment.PATH_SEPARATOR)
+        : CursorCodec.encode(replies.getLast().getPath());
+  }
+}
@@ -0,0 +1,29 @@
+package com.setupshowroom.comment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Builder(toBuilder = true)
+@Data
+public class CommentThreadInfo {
+  @JsonUnwrapped private CommentInfo comment;
+
+  @JsonProperty("parent_id")
+  private String parentId;
+
+  private int depth;
+
+  @JsonProperty("reply_count")
+  private long replyCount;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private List<CommentThreadInfo> replies;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonProperty("replies_cursor")
+  private String repliesCursor;
+}
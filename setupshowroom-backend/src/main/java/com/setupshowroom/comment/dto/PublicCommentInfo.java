@@ -0,0 +1,24 @@
+package com.setupshowroom.comment.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.setupshowroom.user.dto.PublicUserInfo;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PublicCommentInfo {
+  private String id;
+  private PublicUserInfo author;
+  private String content;
+
+  @JsonProperty("created_at")
+  private Instant createdAt;
+
+  @JsonProperty("updated_at")
+  private Instant updatedAt;
+
+  @JsonProperty("like_count")
+  private long likeCount;
+}
@@ -1,9 +1,14 @@
 package com.setupshowroom.explore;
 
+import com.setupshowroom.feed.FeedTimelineService;
+import com.setupshowroom.setup.ExploreRanking;
 import com.setupshowroom.setup.SetupFacade;
 import com.setupshowroom.setup.dto.SetupInfo;
+import com.setupshowroom.setup.dto.SetupSearchResult;
 import com.setupshowroom.shared.dto.Response;
+import com.setupshowroom.shared.pagination.CursorPage;
 import com.setupshowroom.shared.security.BearerTokenService;
+import com.setupshowroom.shared.web.ETags;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -15,32 +20,83 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RequestMapping("/api")
 @RestController
 @RequiredArgsConstructor
 public class ExploreController {
   private final @NotNull SetupFacade setupFacade;
+  private final @NotNull FeedTimelineService feedTimelineService;
   private final @NotNull BearerTokenService bearerTokenService;
 
   @GetMapping("/explore/setups")
   public ResponseEntity<Response<?>> exploreSetups(
       @RequestHeader(HttpHeaders.AUTHORIZATION) final @NotNull String authHeader,
+      @RequestParam(required = false) final String after,
+      @RequestParam(defaultValue = "POPULAR") final @NotNull ExploreRanking ranking,
+      @PageableDefault final @NotNull Pageable pageable,
+      final @NotNull WebRequest webRequest) {
+    final var userId = this.extractUserId(authHeader);
+    final CursorPage<String> page =
+        after != null
+            ? this.setupFacade.exploreSetupIds(ranking, after, pageable.getPageSize())
+            : this.setupFacade.exploreSetupIds(ranking, pageable);
+
+    return this.toSetupsResponse(userId, page, after != null, webRequest);
+  }
+
+  @GetMapping("/explore/search")
+  public ResponseEntity<Response<?>> searchSetups(
+      @RequestHeader(HttpHeaders.AUTHORIZATION) final @NotNull String authHeader,
+      @RequestParam("q") final @NotNull String query,
+      @RequestParam(defaultValue = "") final @NotNull String after,
       @PageableDefault final @NotNull Pageable pageable) {
     final var userId = this.extractUserId(authHeader);
-    final List<SetupInfo> setups = this.setupFacade.exploreSetups(userId, pageable);
-    return ResponseEntity.ok(Response.success("retrieved", setups, HttpStatus.OK.value()));
+    final SetupSearchResult result =
+        this.setupFacade.searchSetups(userId, query, after, pageable.getPageSize());
+
+    final HttpHeaders headers = new HttpHeaders();
+    if (result.getNextCursor() != null) {
+      headers.add(CursorPage.NEXT_CURSOR_HEADER, result.getNextCursor());
+    }
+
+    return ResponseEntity.ok()
+        .headers(headers)
+        .body(Response.success("retrieved", result, HttpStatus.OK.value()));
   }
 
   @GetMapping("/feed")
   public ResponseEntity<Response<?>> feed(
       @RequestHeader(HttpHeaders.AUTHORIZATION) final @NotNull String authHeader,
-      @PageableDefault final @NotNull Pageable pageable) {
+      @RequestParam(required = false) final String after,
+      @PageableDefault final @NotNull Pageable pageable,
+      final @NotNull WebRequest webRequest) {
     final var userId = this.extractUserId(authHeader);
-    final List<SetupInfo> setups = this.setupFacade.feedSetups(userId, pageable);
+    final CursorPage<String> page =
+        after != null
+            ? this.feedTimelineService.findSetupIds(userId, after, pageable.getPageSize())
+            : this.feedTimelineService.findSetupIds(userId, pageable);
+
+    return this.toSetupsResponse(userId, page, after != null, webRequest);
+  }
+
+  private @NotNull ResponseEntity<Response<?>> toSetupsResponse(
+      final @NotNull String userId,
+      final @NotNull CursorPage<String> page,
+      final boolean withCursor,
+      final @NotNull WebRequest webRequest) {
+    if (ETags.notModified(webRequest, this.setupFacade.findSetupsVersion(userId, page))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    final List<SetupInfo> setups = this.setupFacade.hydrateSetups(userId, page.items());
 
-    return ResponseEntity.ok(Response.success("retrieved", setups, HttpStatus.OK.value()));
+    return ResponseEntity.ok()
+        .headers(withCursor ? page.headers() : new HttpHeaders())
+        .body(Response.success("retrieved", setups, HttpStatus.OK.value()));
   }
 
   private @NotNull String extractUserId(@NotNull final String token) {
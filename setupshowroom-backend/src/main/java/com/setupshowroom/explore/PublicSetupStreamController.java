@@ -0,0 +1,41 @@
+package com.setupshowroom.explore;
+
+import com.setupshowroom.setup.SetupTopicService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/public/setup")
+@RequiredArgsConstructor
+@CrossOrigin(
+    origins = "http://localhost:4200",
+    allowedHeaders = "*",
+    exposedHeaders = "*",
+    allowCredentials = "false")
+public class PublicSetupStreamController {
+  private static final String X_ACCEL_BUFFERING = "X-Accel-Buffering";
+  private final @NotNull SetupTopicService setupTopicService;
+
+  @GetMapping(value = "/{setupId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamSetup(
+      @PathVariable final @NotNull String setupId, final @NotNull HttpServletRequest request) {
+    final SseEmitter emitter = this.setupTopicService.subscribe(setupId, request.getRemoteAddr());
+
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+        .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+        .header(HttpHeaders.CONNECTION, "keep-alive")
+        .header(X_ACCEL_BUFFERING, "no")
+        .body(emitter);
+  }
+}
@@ -0,0 +1,12 @@
+package com.setupshowroom.feed;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.feed")
+public class FeedConfigProps {
+  private int timelineSize;
+  private Duration idleAfter;
+}
@@ -0,0 +1,29 @@
+package com.setupshowroom.feed;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "feed_timeline")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedTimeline {
+  @Id
+  @Column(name = "user_id", length = 26, nullable = false, updatable = false)
+  private String userId;
+
+  @Column(name = "built_at", nullable = false)
+  private Instant builtAt;
+
+  @Column(name = "last_read_at", nullable = false)
+  private Instant lastReadAt;
+}
@@ -0,0 +1,217 @@
+package com.setupshowroom.feed;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FeedTimelineRepository extends JpaRepository<FeedTimeline, String> {
+  @Query("select t.lastReadAt from FeedTimeline t where t.userId = :userId")
+  @NotNull
+  Optional<Instant> findLastReadAt(@NotNull String userId);
+
+  @Modifying
+  @Query(
+      value =
+          """
+      insert into feed_timeline (user_id, built_at, last_read_at)
+      values (:userId, :now, :now)
+      on conflict do nothing
+      """,
+      nativeQuery = true)
+  int createTimeline(@NotNull String userId, @NotNull Instant now);
+
+  @Modifying
+  @Query(
+      value =
+          """
+      update feed_timeline
+      set last_read_at = :now
+      where user_id = :userId
+      and last_read_at < :staleBefore
+      """,
+      nativeQuery = true)
+  void touchTimeline(@NotNull String userId, @NotNull Instant now, @NotNull Instant staleBefore);
+
+  // Each receiving timeline is trimmed in the same statement. The delete only sees the rows
+  // that existed before the insert, so keeping limit - 1 of them leaves room for the new one.
+  @Query(
+      value =
+          """
+      with inserted as (
+        insert into feed_entry (user_id, setup_id)
+        select t.user_id, :setupId
+        from feed_timeline t
+        where t.user_id <> :ownerId
+        and t.user_id in (
+          select p.user_id
+          from user_preference p
+          join user_preference_preferred_categories pc on pc.user_preference_id = p.id
+          join setup_categories sc on sc.categories = pc.preferred_categories
+          where sc.setup_id = :setupId
+          and p.deleted is not true
+          union
+          select l.user_id
+          from "like" l
+          join setup o on o.id = l.setup_id
+          where o.user_id = :ownerId
+          and l.deleted = false
+          union
+          select f.user_id
+          from favorite f
+          join setup o on o.id = f.setup_id
+          where o.user_id = :ownerId
+          and f.deleted = false
+        )
+        on conflict do nothing
+        returning user_id
+      ),
+      trimmed as (
+        delete from feed_entry e
+        using (
+          select f.user_id, f.setup_id,
+                 row_number() over (partition by f.user_id order by f.setup_id desc) as position
+          from feed_entry f
+          where f.user_id in (select i.user_id from inserted i)
+        ) ranked
+        where ranked.position >= :limit
+        and e.user_id = ranked.user_id
+        and e.setup_id = ranked.setup_id
+      )
+      select count(*) from inserted
+      """,
+      nativeQuery = true)
+  long fanOut(@NotNull String setupId, @NotNull String ownerId, int limit);
+
+  @Modifying
+  @Query(
+      value =
+          """
+      insert into feed_entry (user_id, setup_id)
+      select :userId, s.id
+      from setup s
+      where s.deleted = false
+      and s.user_id <> :userId
+      and (
+        exists (
+          select 1
+          from setup_categories sc
+          join user_preference_preferred_categories pc on pc.preferred_categories = sc.categories
+          join user_preference p on p.id = pc.user_preference_id
+          where sc.setup_id = s.id
+          and p.user_id = :userId
+          and p.deleted is not true
+        )
+        or s.user_id in (
+          select o.user_id
+          from "like" l
+          join setup o on o.id = l.setup_id
+          where l.user_id = :userId
+          and l.deleted = false
+          union
+          select o.user_id
+          from favorite f
+          join setup o on o.id = f.setup_id
+          where f.user_id = :userId
+          and f.deleted = false
+        )
+      )
+      order by s.id desc
+      limit :limit
+      on conflict do nothing
+      """,
+      nativeQuery = true)
+  int rebuildTimeline(@NotNull String userId, int limit);
+
+  @Modifying
+  @Query(
+      value =
+          """
+      insert into feed_entry (user_id, setup_id)
+      select :userId, s.id
+      from setup s
+      where s.deleted = false
+      and s.user_id <> :userId
+      order by s.id desc
+      limit :limit
+      on conflict do nothing
+      """,
+      nativeQuery = true)
+  int seedTimeline(@NotNull String userId, int limit);
+
+  @Query(
+      value =
+          """
+      select e.setup_id
+      from feed_entry e
+      join setup s on s.id = e.setup_id
+      where e.user_id = :userId
+      and s.deleted = false
+      order by e.setup_id desc
+      limit :limit
+      offset :offset
+      """,
+      nativeQuery = true)
+  @NotNull
+  List<String> findSetupIds(@NotNull String userId, int limit, long offset);
+
+  @Query(
+      value =
+          """
+      select e.setup_id
+      from feed_entry e
+      join setup s on s.id = e.setup_id
+      where e.user_id = :userId
+      and e.setup_id < :setupId
+      and s.deleted = false
+      order by e.setup_id desc
+      limit :limit
+      """,
+      nativeQuery = true)
+  @NotNull
+  List<String> findSetupIdsAfter(@NotNull String userId, @NotNull String setupId, int limit);
+
+  @Modifying
+  @Query(
+      value =
+          """
+      delete from feed_timeline
+      where last_read_at < :before
+      """,
+      nativeQuery = true)
+  int deleteIdleTimelines(@NotNull Instant before);
+
+  @Modifying
+  @Query(
+      value =
+          """
+      delete from feed_entry e
+      using setup s
+      where s.id = e.setup_id
+      and s.deleted = true
+      """,
+      nativeQuery = true)
+  int deleteEntriesOfDeletedSetups();
+
+  @Modifying
+  @Query(
+      value =
+          """
+      delete from feed_entry e
+      using (
+        select user_id, setup_id,
+               row_number() over (partition by user_id order by setup_id desc) as position
+        from feed_entry
+      ) ranked
+      where ranked.position > :limit
+      and e.user_id = ranked.user_id
+      and e.setup_id = ranked.setup_id
+      """,
+      nativeQuery = true)
+  int trimTimelines(int limit);
+}
@@ -0,0 +1,113 @@
+package com.setupshowroom.feed;
+
+import com.setupshowroom.setup.event.SetupCreatedEvent;
+import com.setupshowroom.shared.pagination.CursorCodec;
+import com.setupshowroom.shared.pagination.CursorPage;
+import jakarta.transaction.Transactional;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class FeedTimelineService {
+  private static final Duration TOUCH_INTERVAL = Duration.ofHours(1);
+
+  private final @NotNull FeedTimelineRepository feedTimelineRepository;
+  private final @NotNull FeedConfigProps feedConfigProps;
+
+  // The feed module owns the timelines and answers feed pages itself; it only listens to
+  // setup events, so the setup module never calls back into it.
+  public @NotNull CursorPage<String> findSetupIds(
+      final @NotNull String userId, final @NotNull Pageable pageable) {
+    this.ensureTimeline(userId);
+
+    return toPage(
+        this.feedTimelineRepository.findSetupIds(
+            userId, pageable.getPageSize(), pageable.getOffset()),
+        pageable.getPageSize());
+  }
+
+  public @NotNull CursorPage<String> findSetupIds(
+      final @NotNull String userId, final @NotNull String after, final int size) {
+    this.ensureTimeline(userId);
+
+    final List<String> setupIds =
+        after.isEmpty()
+            ? this.feedTimelineRepository.findSetupIds(userId, size, 0)
+            : this.feedTimelineRepository.findSetupIdsAfter(
+                userId, CursorCodec.decode(after, 1)[0], size);
+
+    return toPage(setupIds, size);
+  }
+
+  @ApplicationModuleListener
+  public void onSetupCreated(final @NotNull SetupCreatedEvent event) {
+    final long receivers =
+        this.feedTimelineRepository.fanOut(
+            event.setupId(), event.userId(), this.feedConfigProps.getTimelineSize());
+
+    log.debug("Setup {} pushed to {} timelines", event.setupId(), receivers);
+  }
+
+  @Scheduled(cron = "0 0 4 * * *")
+  public void maintainTimelines() {
+    final Instant idleBefore = Instant.now().minus(this.feedConfigProps.getIdleAfter());
+
+    final int expired = this.feedTimelineRepository.deleteIdleTimelines(idleBefore);
+    final int removed = this.feedTimelineRepository.deleteEntriesOfDeletedSetups();
+    final int trimmed =
+        this.feedTimelineRepository.trimTimelines(this.feedConfigProps.getTimelineSize());
+
+    log.info(
+        "Feed maintenance: {} idle timelines expired, {} stale and {} overflow entries removed",
+        expired,
+        removed,
+        trimmed);
+  }
+
+  // Reads are the hot path, so an existing timeline is only written to once per touch
+  // interval and the insert is reserved for a miss.
+  private void ensureTimeline(final @NotNull String userId) {
+    final Instant now = Instant.now();
+    final Optional<Instant> lastReadAt = this.feedTimelineRepository.findLastReadAt(userId);
+
+    if (lastReadAt.isPresent()) {
+      if (lastReadAt.get().isBefore(now.minus(TOUCH_INTERVAL))) {
+        this.feedTimelineRepository.touchTimeline(userId, now, now.minus(TOUCH_INTERVAL));
+      }
+      return;
+    }
+
+    if (this.feedTimelineRepository.createTimeline(userId, now) == 0) {
+      return;
+    }
+
+    final int limit = this.feedConfigProps.getTimelineSize();
+    final int rebuilt = this.feedTimelineRepository.rebuildTimeline(userId, limit);
+
+    if (rebuilt == 0) {
+      this.feedTimelineRepository.seedTimeline(userId, limit);
+    }
+
+    log.debug("Cold timeline of user {} rebuilt with {} matching setups", userId, rebuilt);
+  }
+
+  private static @NotNull CursorPage<String> toPage(
+      final @NotNull List<String> setupIds, final int size) {
+    final String nextCursor =
+        setupIds.size() < size ? null : CursorCodec.encode(setupIds.getLast());
+
+    return new CursorPage<>(setupIds, nextCursor);
+  }
+}
@@ -11,10 +11,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.jetbrains.annotations.NotNull;
 
 @Entity
@@ -50,6 +53,13 @@ public class Notification implements Comparable<Notification> {
   @Column(name = "deleted", nullable = false)
   private boolean deleted;
 
+  @Column(name = "actor_count", nullable = false)
+  private int actorCount = 1;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "sample_actors")
+  private List<String> sampleActors;
+
   @Embedded private EmbeddedTimestamps timestamps;
 
   @ManyToOne(fetch = FetchType.LAZY)
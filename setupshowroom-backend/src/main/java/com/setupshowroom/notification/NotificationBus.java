@@ -0,0 +1,42 @@
+package com.setupshowroom.notification;
+
+import com.setupshowroom.shared.cluster.ClusterBus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationBus {
+  private static final String CHANNEL = "notification_created";
+  private static final String SEPARATOR = ":";
+
+  private final @NotNull ClusterBus clusterBus;
+  private final @NotNull ApplicationEventPublisher eventPublisher;
+
+  public record Delivery(@NotNull String recipientId, @NotNull String notificationId) {}
+
+  @PostConstruct
+  public void init() {
+    this.clusterBus.subscribe(CHANNEL, message -> this.dispatch(message.payload()));
+  }
+
+  public void publish(final @NotNull String recipientId, final @NotNull String notificationId) {
+    this.clusterBus.publish(CHANNEL, recipientId + SEPARATOR + notificationId);
+  }
+
+  private void dispatch(final @NotNull String payload) {
+    final int separator = payload.indexOf(SEPARATOR);
+    if (separator < 0) {
+      log.warn("Ignoring malformed notification payload: {}", payload);
+      return;
+    }
+
+    this.eventPublisher.publishEvent(
+        new Delivery(payload.substring(0, separator), payload.substring(separator + 1)));
+  }
+}
@@ -0,0 +1,120 @@
+package com.setupshowroom.notification;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@Component
+public class NotificationConnectionRegistry {
+  private static final int MAX_CONNECTIONS_PER_USER = 5;
+
+  // Writes replace a user's list under the map's per-key lock; fan-out iterates a
+  // copy-on-write snapshot and never blocks other users or concurrent registrations.
+  private final Map<String, List<SseConnection>> connections = new ConcurrentHashMap<>();
+  private final List<Set<SseConnection>> shards;
+  private final AtomicInteger connectionCount = new AtomicInteger();
+
+  public NotificationConnectionRegistry(
+      final @NotNull NotificationStreamConfigProps configProps,
+      final @NotNull MeterRegistry meterRegistry) {
+    final List<Set<SseConnection>> buckets = new ArrayList<>();
+    for (int i = 0; i < configProps.getHeartbeatShards(); i++) {
+      buckets.add(ConcurrentHashMap.newKeySet());
+    }
+    this.shards = List.copyOf(buckets);
+
+    Gauge.builder("notification.sse.connections", this.connectionCount, AtomicInteger::get)
+        .description("Open notification streams on this node")
+        .register(meterRegistry);
+    Gauge.builder("notification.sse.users", this.connections, Map::size)
+        .description("Users with at least one open notification stream on this node")
+        .register(meterRegistry);
+  }
+
+  public @NotNull SseConnection register(
+      final @NotNull String userId, final @NotNull SseEmitter emitter) {
+    final String id = UlidCreator.getUlid().toString();
+    final SseConnection connection =
+        new SseConnection(id, userId, emitter, Math.floorMod(id.hashCode(), this.shards.size()));
+    final List<SseConnection> evicted = new ArrayList<>();
+
+    this.connections.compute(
+        userId,
+        (key, existing) -> {
+          final List<SseConnection> current =
+              existing == null ? new CopyOnWriteArrayList<>() : existing;
+          current.add(connection);
+          while (current.size() > MAX_CONNECTIONS_PER_USER) {
+            evicted.add(current.removeFirst());
+          }
+          return current;
+        });
+    this.shards.get(connection.shard()).add(connection);
+    this.connectionCount.incrementAndGet();
+
+    for (final SseConnection oldest : evicted) {
+      log.info(
+          "User {} exceeded {} streams, closing {}", userId, MAX_CONNECTIONS_PER_USER, oldest.id());
+      this.forget(oldest);
+    }
+
+    return connection;
+  }
+
+  public void remove(final @NotNull SseConnection connection) {
+    final AtomicInteger removed = new AtomicInteger();
+
+    this.connections.computeIfPresent(
+        connection.userId(),
+        (key, current) -> {
+          if (current.remove(connection)) {
+            removed.incrementAndGet();
+          }
+          return current.isEmpty() ? null : current;
+        });
+
+    if (removed.get() > 0) {
+      this.forget(connection);
+    }
+  }
+
+  public @NotNull List<SseConnection> connectionsOf(final @NotNull String userId) {
+    return this.connections.getOrDefault(userId, List.of());
+  }
+
+  public int size() {
+    return this.connectionCount.get();
+  }
+
+  public void forEach(final @NotNull Consumer<SseConnection> action) {
+    this.connections.values().forEach(current -> current.forEach(action));
+  }
+
+  void forEachInShard(final int shard, final @NotNull Consumer<SseConnection> action) {
+    this.shards.get(Math.floorMod(shard, this.shards.size())).forEach(action);
+  }
+
+  int shardCount() {
+    return this.shards.size();
+  }
+
+  private void forget(final @NotNull SseConnection connection) {
+    this.shards.get(connection.shard()).remove(connection);
+    this.connectionCount.decrementAndGet();
+    connection.close();
+    connection.emitter().complete();
+  }
+}
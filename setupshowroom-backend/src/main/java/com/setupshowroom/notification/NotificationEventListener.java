@@ -0,0 +1,73 @@
+package com.setupshowroom.notification;
+
+import com.setupshowroom.notification.dto.NotificationForm;
+import com.setupshowroom.setup.event.CommentLikedEvent;
+import com.setupshowroom.setup.event.SetupCommentedEvent;
+import com.setupshowroom.setup.event.SetupLikedEvent;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationEventListener {
+  private final @NotNull NotificationService notificationService;
+
+  @ApplicationModuleListener
+  public void onSetupLiked(final @NotNull SetupLikedEvent event) {
+    final var form =
+        NotificationForm.builder()
+            .to(event.ownerId())
+            .title("New Like")
+            .type(NotificationType.LIKE)
+            .description("%s liked your setup".formatted(event.username()))
+            .groupedDescription(
+                "%s and %%s others liked your setup".formatted(escape(event.username())))
+            .groupKey("setup:" + event.setupId())
+            .action(String.format("/%s/%s", "setups", event.setupId()))
+            .build();
+
+    this.notificationService.createGroupedNotification(form, event.userId());
+  }
+
+  @ApplicationModuleListener
+  public void onSetupCommented(final @NotNull SetupCommentedEvent event) {
+    final var form =
+        NotificationForm.builder()
+            .to(event.ownerId())
+            .title("New Comment")
+            .description(event.username() + " commented on your setup")
+            .type(NotificationType.COMMENT)
+            .action(String.format("/%s/%s", "setups", event.setupId()))
+            .build();
+
+    this.notificationService.createNotification(form, event.userId());
+  }
+
+  @ApplicationModuleListener
+  public void onCommentLiked(final @NotNull CommentLikedEvent event) {
+    final var form =
+        NotificationForm.builder()
+            .to(event.authorId())
+            .title("New Comment Like")
+            .type(NotificationType.LIKE)
+            .description(
+                "%s liked your mentioned. Comment is: %s"
+                    .formatted(event.username(), event.content()))
+            .groupedDescription(
+                "%s and %%s others liked your mentioned. Comment is: %s"
+                    .formatted(escape(event.username()), escape(event.content())))
+            .groupKey("comment:" + event.commentId())
+            .action(String.format("/%s/%s", "setups", event.setupId()))
+            .build();
+
+    this.notificationService.createGroupedNotification(form, event.userId());
+  }
+
+  // The grouped description is completed by Postgres format(), so user text must not carry
+  // its own placeholders.
+  private static @NotNull String escape(final @NotNull String text) {
+    return text.replace("%", "%%");
+  }
+}
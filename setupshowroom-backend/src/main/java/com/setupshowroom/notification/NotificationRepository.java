@@ -1,7 +1,9 @@
 package com.setupshowroom.notification;
 
 import com.setupshowroom.notification.dto.NotificationInfo;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -20,7 +22,9 @@ public interface NotificationRepository extends JpaRepository<Notification, Stri
              n.action as action,
              n.user as user,
              n.read as read,
-             n.timestamps.createdAt as createdAt
+             n.timestamps.createdAt as createdAt,
+             n.actorCount as actorCount,
+             n.sampleActors as sampleActors
       from Notification n
       where n.user.id = :userId
         and n.read = true
@@ -47,12 +51,14 @@ public interface NotificationRepository extends JpaRepository<Notification, Stri
                     n.user.profession,
                     n.user.enabled),
              n.read as read,
-             n.timestamps.createdAt)
+             n.timestamps.createdAt,
+             n.actorCount,
+             n.sampleActors)
       from Notification n
       where n.to = :userId
         and n.read = false
         and n.deleted = false
-        order by n.timestamps.createdAt desc
+        order by n.timestamps.updatedAt desc
       """)
   List<NotificationInfo> findAllByUserIdAndReadFalseAndDeletedFalse(
       @NotNull String userId, @NotNull Pageable pageable);
@@ -90,12 +96,14 @@ public interface NotificationRepository extends JpaRepository<Notification, Stri
                     n.user.profession,
                     n.user.enabled),
           n.read,
-          n.timestamps.createdAt
+          n.timestamps.createdAt,
+          n.actorCount,
+          n.sampleActors
       )
       from Notification n
       where n.to= :userId
         and n.deleted = false
-        order by n.timestamps.createdAt desc
+        order by n.timestamps.updatedAt desc
       """)
   @NotNull
   List<NotificationInfo> findAllByUserIdAndDeletedFalse(
@@ -104,4 +112,78 @@ public interface NotificationRepository extends JpaRepository<Notification, Stri
   @Modifying
   @Query("UPDATE Notification n SET n.read = true WHERE n.to = :userId")
   void markAsReadAll(@NotNull String userId);
+
+  // Opens the group's row and records its first actor. Returns nothing when the row already
+  // exists, including one opened by a concurrent transaction that committed first.
+  @Query(
+      value =
+          """
+      with opened as (
+        insert into notification
+          (id, title, read, description, type, action, deleted, user_id, "to",
+           group_key, actor_count, sample_actors, created_at, updated_at)
+        values
+          (:id, :title, false, :description, :type, :action, false, :userId, :to,
+           :groupKey, 1, array[cast(:actor as text)], :now, :now)
+        on conflict ("to", group_key) where group_key is not null do nothing
+        returning id
+      )
+      insert into notification_actor (notification_id, actor_id)
+      select o.id, :userId
+      from opened o
+      returning notification_id
+      """,
+      nativeQuery = true)
+  @NotNull
+  Optional<String> openGrouped(
+      @NotNull String id,
+      @NotNull String title,
+      @NotNull String description,
+      @NotNull String type,
+      @NotNull String action,
+      @NotNull String userId,
+      @NotNull String to,
+      @NotNull String groupKey,
+      @NotNull String actor,
+      @NotNull Instant now);
+
+  // Adds an actor to an open group. The row is only rewritten, and moved to the top of the
+  // lists, when the actor is new to the group, so repeated actions by one user count once.
+  @Modifying
+  @Query(
+      value =
+          """
+      with added as (
+        insert into notification_actor (notification_id, actor_id)
+        select n.id, :userId
+        from notification n
+        where n."to" = :to
+        and n.group_key = :groupKey
+        on conflict do nothing
+        returning notification_id
+      )
+      update notification n
+      set actor_count = n.actor_count + 1,
+          sample_actors =
+            array[cast(:actor as text)]
+              || trim_array(
+                   n.sample_actors,
+                   greatest(cardinality(n.sample_actors) - :maxSamples + 1, 0)),
+          description = format(:groupedDescription, n.actor_count),
+          user_id = :userId,
+          read = false,
+          deleted = false,
+          updated_at = :now
+      from added a
+      where n.id = a.notification_id
+      """,
+      nativeQuery = true)
+  int mergeGrouped(
+      @NotNull String groupedDescription,
+      @NotNull String userId,
+      @NotNull String to,
+      @NotNull String groupKey,
+      @NotNull String actor,
+      int maxSamples,
+      @NotNull Instant now);
 }
@@ -1,5 +1,6 @@
 package com.setupshowroom.notification;
 
+import com.github.f4b6a3.ulid.UlidCreator;
 import com.setupshowroom.notification.converter.NotificationConverter;
 import com.setupshowroom.notification.dto.NotificationForm;
 import com.setupshowroom.notification.dto.NotificationInfo;
@@ -7,20 +8,15 @@ import com.setupshowroom.shared.exceptionhandler.exception.ItemNotFoundException
 import com.setupshowroom.user.User;
 import com.setupshowroom.user.UserRepository;
 import com.setupshowroom.user.converter.UserConverter;
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
-import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -29,67 +25,18 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 @Slf4j
 @RequiredArgsConstructor
 public class NotificationService {
-  private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(30);
-  private static final Duration EMITTER_TIMEOUT = Duration.ofHours(24);
+  private static final Duration GROUP_WINDOW = Duration.ofMinutes(30);
+  private static final int MAX_SAMPLE_ACTORS = 3;
 
   private final @NotNull NotificationRepository notificationRepository;
   private final @NotNull NotificationConverter notificationConverter;
   private final @NotNull UserRepository userRepository;
   private final @NotNull UserConverter userConverter;
-  private final TaskScheduler taskScheduler;
-  private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
-
-  @PostConstruct
-  public void init() {
-    this.taskScheduler.scheduleAtFixedRate(this::sendHeartbeatToAll, HEARTBEAT_INTERVAL);
-  }
-
-  private void sendHeartbeatToAll() {
-    this.emitters.forEach(
-        (userId, emitter) -> {
-          try {
-            emitter.send(SseEmitter.event().name("heartbeat").data("ping"));
-            log.debug("Heartbeat sent to user: {}", userId);
-          } catch (final IOException e) {
-            log.info("Failed to send heartbeat to user: {}, removing emitter", userId);
-            this.removeEmitter(userId);
-          }
-        });
-  }
+  private final @NotNull NotificationBus notificationBus;
+  private final @NotNull NotificationStreamGateway notificationStreamGateway;
 
   public SseEmitter subscribe(final @NotNull String userId) {
-    log.info("User {} attempting to subscribe to notifications", userId);
-    final SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT.toMillis());
-
-    emitter.onTimeout(
-        () -> {
-          log.info("SSE connection timeout for user: {}", userId);
-          this.removeEmitter(userId);
-        });
-
-    emitter.onCompletion(
-        () -> {
-          log.info("SSE connection completed for user: {}", userId);
-          this.removeEmitter(userId);
-        });
-
-    emitter.onError(
-        ex -> {
-          log.info("SSE connection error for user: {}", userId, ex);
-          this.removeEmitter(userId);
-        });
-
-    this.emitters.put(userId, emitter);
-    log.info("User {} successfully subscribed to notifications", userId);
-
-    try {
-      emitter.send(SseEmitter.event().name("INIT").data("Connected!"));
-    } catch (final IOException e) {
-      log.error("Error sending initial message to user: {}", userId, e);
-      this.removeEmitter(userId);
-    }
-
-    return emitter;
+    return this.notificationStreamGateway.open(userId);
   }
 
   @SuppressWarnings("all")
@@ -106,51 +53,88 @@ public class NotificationService {
 
     final Notification savedNotification = this.notificationRepository.save(notification);
 
-    final var toUser =
+    if (!this.userRepository.existsById(notificationForm.getTo())) {
+      throw new ItemNotFoundException("userNotFound");
+    }
+
+    this.notificationBus.publish(notificationForm.getTo(), savedNotification.getId());
+
+    return savedNotification;
+  }
+
+  // Notifications with a group key are merged per recipient, type, target and fixed window
+  // into one row. Only the row that opens a window is pushed; later merges just update it.
+  public void createGroupedNotification(
+      final @NotNull NotificationForm notificationForm, final @NotNull String userId) {
+    final User user =
         this.userRepository
-            .findUserById(notificationForm.getTo())
+            .findUserById(userId)
             .orElseThrow(() -> new ItemNotFoundException("userNotFound"));
 
-    final var notificationInfo =
-        NotificationInfo.builder()
-            .id(savedNotification.getId())
-            .title(savedNotification.getTitle())
-            .description(savedNotification.getDescription())
-            .type(savedNotification.getType())
-            .action(savedNotification.getAction())
-            .user(this.userConverter.toUserInfo(toUser))
-            .read(savedNotification.isRead())
-            .createdAt(Instant.now())
-            .build();
-
-    final SseEmitter emitter = emitters.get(notificationForm.getTo());
-    if (emitter != null) {
-      try {
-        emitter.send(SseEmitter.event().name("notification").data(notificationInfo));
-      } catch (final @NotNull IOException e) {
-        log.warn(
-            "Error sending notification to user: {} - Error: {}",
-            notificationForm.getTo(),
-            e.getMessage());
-        removeEmitter(notificationForm.getTo());
-      }
+    final Instant now = Instant.now();
+    final long window = now.getEpochSecond() / GROUP_WINDOW.toSeconds();
+    final String id = UlidCreator.getUlid().toString();
+    final String groupKey =
+        "%s:%s:%d"
+            .formatted(notificationForm.getType(), notificationForm.getGroupKey(), window);
+
+    final boolean opened =
+        this.notificationRepository
+            .openGrouped(
+                id,
+                notificationForm.getTitle(),
+                notificationForm.getDescription(),
+                notificationForm.getType().name(),
+                notificationForm.getAction(),
+                user.getId(),
+                notificationForm.getTo(),
+                groupKey,
+                user.getUsername(),
+                now)
+            .isPresent();
+
+    if (opened) {
+      this.notificationBus.publish(notificationForm.getTo(), id);
+      return;
     }
 
-    return savedNotification;
+    this.notificationRepository.mergeGrouped(
+        notificationForm.getGroupedDescription(),
+        user.getId(),
+        notificationForm.getTo(),
+        groupKey,
+        user.getUsername(),
+        MAX_SAMPLE_ACTORS,
+        now);
   }
 
-  @PreDestroy
-  public void destroy() {
-    log.info("Shutting down notification service, closing all SSE connections...");
-    this.emitters.forEach(
-        (userId, emitter) -> {
-          try {
-            emitter.send(SseEmitter.event().name("shutdown").data("Server shutting down"));
-            this.removeEmitter(userId);
-          } catch (final IOException e) {
-            log.warn("Error during shutdown notification for user: {}", userId);
-          }
-        });
+  @EventListener
+  public void onDelivery(final @NotNull NotificationBus.Delivery delivery) {
+    if (!this.notificationStreamGateway.isConnected(delivery.recipientId())) {
+      return;
+    }
+
+    final var notification = this.notificationRepository.findById(delivery.notificationId());
+    final var toUser = this.userRepository.findUserById(delivery.recipientId());
+    if (notification.isEmpty() || toUser.isEmpty()) {
+      return;
+    }
+
+    final var notificationInfo =
+        NotificationInfo.builder()
+            .id(notification.get().getId())
+            .title(notification.get().getTitle())
+            .description(notification.get().getDescription())
+            .type(notification.get().getType())
+            .action(notification.get().getAction())
+            .user(this.userConverter.toUserInfo(toUser.get()))
+            .read(notification.get().isRead())
+            .createdAt(notification.get().getTimestamps().getCreatedAt())
+            .actorCount(notification.get().getActorCount())
+            .sampleActors(notification.get().getSampleActors())
+            .build();
+
+    this.notificationStreamGateway.send(delivery.recipientId(), "notification", notificationInfo);
   }
 
   public @NotNull List<NotificationInfo> findAllByUserIdAndReadTrue(
@@ -188,11 +172,4 @@ public class NotificationService {
   public void markAsReadAll(final @NotNull String userId) {
     this.notificationRepository.markAsReadAll(userId);
   }
-
-  private void removeEmitter(final @NotNull String userId) {
-    final SseEmitter emitter = this.emitters.remove(userId);
-    if (emitter != null) {
-      emitter.complete();
-    }
-  }
 }
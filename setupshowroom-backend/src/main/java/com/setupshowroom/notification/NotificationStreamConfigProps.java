@@ -0,0 +1,15 @@
+package com.setupshowroom.notification;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.notification.stream")
+public class NotificationStreamConfigProps {
+  private Duration emitterTimeout;
+  private Duration heartbeatInterval;
+  private int heartbeatShards;
+  private int queueCapacity;
+  private Duration sendTimeout;
+}
@@ -0,0 +1,181 @@
+package com.setupshowroom.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@Component
+public class NotificationStreamGateway {
+  private static final String HEARTBEAT = "heartbeat";
+  private static final double[] LATENCY_PERCENTILES = {0.5, 0.95, 0.99};
+
+  private final @NotNull NotificationConnectionRegistry connectionRegistry;
+  private final @NotNull NotificationStreamConfigProps configProps;
+  private final @NotNull TaskScheduler taskScheduler;
+  private final @NotNull Timer heartbeatLatency;
+  private final @NotNull Counter evictions;
+
+  private final ExecutorService writers =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-writer-", 0).factory());
+  private final Set<SseConnection> sending = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger nextShard = new AtomicInteger();
+
+  public NotificationStreamGateway(
+      final @NotNull NotificationConnectionRegistry connectionRegistry,
+      final @NotNull NotificationStreamConfigProps configProps,
+      final @NotNull TaskScheduler taskScheduler,
+      final @NotNull MeterRegistry meterRegistry) {
+    this.connectionRegistry = connectionRegistry;
+    this.configProps = configProps;
+    this.taskScheduler = taskScheduler;
+    this.heartbeatLatency =
+        Timer.builder("notification.sse.heartbeat.latency")
+            .description("Time from queueing a heartbeat to writing it")
+            .publishPercentiles(LATENCY_PERCENTILES)
+            .register(meterRegistry);
+    this.evictions =
+        Counter.builder("notification.sse.evictions")
+            .description("Streams closed for a full queue, a failed write or a send timeout")
+            .register(meterRegistry);
+  }
+
+  // Each tick heartbeats a single shard, spreading one full round over the heartbeat
+  // interval instead of queueing every connection at once.
+  @PostConstruct
+  public void init() {
+    this.taskScheduler.scheduleAtFixedRate(
+        this::heartbeatTick,
+        this.configProps.getHeartbeatInterval().dividedBy(this.connectionRegistry.shardCount()));
+  }
+
+  @PreDestroy
+  public void destroy() throws InterruptedException {
+    log.info("Shutting down notification streams, closing all SSE connections...");
+    this.connectionRegistry.forEach(
+        connection -> this.offer(connection, "shutdown", "Server shutting down", false));
+    this.writers.shutdown();
+    if (!this.writers.awaitTermination(
+        this.configProps.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+      this.writers.shutdownNow();
+    }
+    this.connectionRegistry.forEach(this.connectionRegistry::remove);
+  }
+
+  public @NotNull SseEmitter open(final @NotNull String userId) {
+    final SseEmitter emitter = new SseEmitter(this.configProps.getEmitterTimeout().toMillis());
+    this.attach(userId, emitter);
+    return emitter;
+  }
+
+  public @NotNull String attach(final @NotNull String userId, final @NotNull SseEmitter emitter) {
+    final SseConnection connection = this.connectionRegistry.register(userId, emitter);
+
+    emitter.onTimeout(() -> this.connectionRegistry.remove(connection));
+    emitter.onCompletion(() -> this.connectionRegistry.remove(connection));
+    emitter.onError(ex -> this.connectionRegistry.remove(connection));
+
+    log.debug("User {} subscribed to notifications as {}", userId, connection.id());
+    this.offer(connection, "INIT", "Connected!", false);
+
+    return connection.id();
+  }
+
+  public boolean isConnected(final @NotNull String userId) {
+    return !this.connectionRegistry.connectionsOf(userId).isEmpty();
+  }
+
+  public void send(final @NotNull String userId, final @NotNull String name, final Object data) {
+    for (final SseConnection connection : this.connectionRegistry.connectionsOf(userId)) {
+      this.offer(connection, name, data, false);
+    }
+  }
+
+  private void offer(
+      final @NotNull SseConnection connection,
+      final @NotNull String name,
+      final @NotNull Object data,
+      final boolean heartbeat) {
+    final SseConnection.Event event =
+        new SseConnection.Event(name, data, System.nanoTime(), heartbeat);
+
+    switch (connection.offer(event, this.configProps.getQueueCapacity())) {
+      case DRAIN -> this.writers.execute(() -> this.drain(connection));
+      case FULL -> this.evict(connection, "queue full");
+      case QUEUED, CLOSED -> {
+        // already queued behind an in-flight write, or the stream is gone
+      }
+    }
+  }
+
+  private void drain(final @NotNull SseConnection connection) {
+    SseConnection.Event next = connection.poll();
+
+    while (next != null) {
+      this.sending.add(connection);
+      connection.sending(System.nanoTime());
+      try {
+        connection.emitter().send(SseEmitter.event().name(next.name()).data(next.data()));
+      } catch (final IOException | IllegalStateException e) {
+        this.evict(connection, e.getMessage());
+        return;
+      } finally {
+        connection.sending(0);
+        this.sending.remove(connection);
+      }
+
+      if (next.heartbeat()) {
+        this.heartbeatLatency.record(System.nanoTime() - next.enqueuedAt(), TimeUnit.NANOSECONDS);
+      }
+      next = connection.poll();
+    }
+  }
+
+  private void heartbeatTick() {
+    final int shard = this.nextShard.getAndIncrement();
+    this.connectionRegistry.forEachInShard(
+        shard, connection -> this.offer(connection, HEARTBEAT, "ping", true));
+
+    final long now = System.nanoTime();
+    final long timeout = this.configProps.getSendTimeout().toNanos();
+    for (final SseConnection connection : this.sending) {
+      final long since = connection.sendingSince();
+      if (since != 0 && now - since > timeout) {
+        this.evict(connection, "send timeout");
+      }
+    }
+  }
+
+  // Evictions come from the heartbeat tick and from offers on request threads. Completing the
+  // emitter waits for the write it is stuck in, so that part runs on a writer thread; closing
+  // the connection first makes further offers return CLOSED in the meantime.
+  private void evict(final @NotNull SseConnection connection, final String reason) {
+    if (!connection.close()) {
+      return;
+    }
+
+    this.evictions.increment();
+    this.sending.remove(connection);
+    log.debug("Evicting notification stream {}: {}", connection.id(), reason);
+    try {
+      this.writers.execute(() -> this.connectionRegistry.remove(connection));
+    } catch (final RejectedExecutionException e) {
+      this.connectionRegistry.remove(connection);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.setupshowroom.notification;
+
+import java.util.ArrayDeque;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public final class SseConnection {
+  enum Offer {
+    QUEUED,
+    DRAIN,
+    FULL,
+    CLOSED
+  }
+
+  record Event(@NotNull String name, @NotNull Object data, long enqueuedAt, boolean heartbeat) {}
+
+  private final @NotNull String id;
+  private final @NotNull String userId;
+  private final @NotNull SseEmitter emitter;
+  private final int shard;
+
+  // Idle connections are the common case, so the queue is only allocated once something
+  // has to wait behind an in-flight write.
+  private ArrayDeque<Event> queue;
+  private boolean draining;
+  private boolean closed;
+  private boolean heartbeatQueued;
+  private volatile long sendingSince;
+
+  SseConnection(
+      final @NotNull String id,
+      final @NotNull String userId,
+      final @NotNull SseEmitter emitter,
+      final int shard) {
+    this.id = id;
+    this.userId = userId;
+    this.emitter = emitter;
+    this.shard = shard;
+  }
+
+  public @NotNull String id() {
+    return this.id;
+  }
+
+  public @NotNull String userId() {
+    return this.userId;
+  }
+
+  public @NotNull SseEmitter emitter() {
+    return this.emitter;
+  }
+
+  int shard() {
+    return this.shard;
+  }
+
+  synchronized @NotNull Offer offer(final @NotNull Event event, final int capacity) {
+    if (this.closed) {
+      return Offer.CLOSED;
+    }
+    if (event.heartbeat() && this.heartbeatQueued) {
+      return Offer.QUEUED;
+    }
+    if (this.queue == null) {
+      this.queue = new ArrayDeque<>(2);
+    }
+    if (this.queue.size() >= capacity) {
+      return Offer.FULL;
+    }
+
+    this.queue.addLast(event);
+    this.heartbeatQueued |= event.heartbeat();
+
+    if (this.draining) {
+      return Offer.QUEUED;
+    }
+    this.draining = true;
+    return Offer.DRAIN;
+  }
+
+  synchronized @Nullable Event poll() {
+    final Event next = this.closed || this.queue == null ? null : this.queue.pollFirst();
+
+    if (next == null) {
+      this.draining = false;
+      this.queue = null;
+      return null;
+    }
+    if (next.heartbeat()) {
+      this.heartbeatQueued = false;
+    }
+    return next;
+  }
+
+  synchronized boolean close() {
+    if (this.closed) {
+      return false;
+    }
+    this.closed = true;
+    this.queue = null;
+    return true;
+  }
+
+  void sending(final long since) {
+    this.sendingSince = since;
+  }
+
+  long sendingSince() {
+    return this.sendingSince;
+  }
+}
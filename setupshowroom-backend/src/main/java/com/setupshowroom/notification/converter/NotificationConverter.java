@@ -14,6 +14,8 @@ public interface NotificationConverter {
     @Mapping(
         target = "id",
         expression = "java(com.github.f4b6a3.ulid.UlidCreator.getUlid().toString())"),
+    @Mapping(target = "actorCount", constant = "1"),
+    @Mapping(target = "sampleActors", ignore = true),
   })
   @NotNull
   Notification toNotification(@NotNull NotificationForm form);
@@ -12,4 +12,6 @@ public class NotificationForm {
   private NotificationType type;
   private String action;
   private String to;
+  private String groupKey;
+  private String groupedDescription;
 }
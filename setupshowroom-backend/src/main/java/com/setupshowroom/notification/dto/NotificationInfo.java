@@ -3,6 +3,7 @@ package com.setupshowroom.notification.dto;
 import com.setupshowroom.notification.NotificationType;
 import com.setupshowroom.user.dto.UserInfo;
 import java.time.Instant;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,4 +24,6 @@ public class NotificationInfo {
   private UserInfo user;
   private boolean read;
   private Instant createdAt;
+  private int actorCount;
+  private List<String> sampleActors;
 }
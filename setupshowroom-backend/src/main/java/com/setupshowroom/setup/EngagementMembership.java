@@ -0,0 +1,147 @@
+package com.setupshowroom.setup;
+
+import com.github.f4b6a3.ulid.Ulid;
+import java.util.Collection;
+import java.util.Comparator;
+import org.jetbrains.annotations.NotNull;
+
+// Setup ids are ULIDs, kept as sorted pairs of their most and least significant bits: 16 bytes
+// per id in a primitive array instead of a 26-char String each.
+final class EngagementMembership {
+  private static final long[] NONE = new long[0];
+  private static final Comparator<Ulid> ORDER =
+      Comparator.comparingLong(Ulid::getMostSignificantBits)
+          .thenComparingLong(Ulid::getLeastSignificantBits);
+
+  // Stands in for users with more engagements than a cache entry may hold; lookups for them
+  // go to the database for just the setups being rendered.
+  static final EngagementMembership OVERFLOW = new EngagementMembership(NONE, NONE, false);
+
+  private final @NotNull long[] likedSetupIds;
+  private final @NotNull long[] favoriteSetupIds;
+  private final boolean complete;
+
+  private EngagementMembership(
+      final @NotNull long[] likedSetupIds,
+      final @NotNull long[] favoriteSetupIds,
+      final boolean complete) {
+    this.likedSetupIds = likedSetupIds;
+    this.favoriteSetupIds = favoriteSetupIds;
+    this.complete = complete;
+  }
+
+  static @NotNull EngagementMembership of(
+      final @NotNull Collection<String> likedSetupIds,
+      final @NotNull Collection<String> favoriteSetupIds) {
+    return new EngagementMembership(encode(likedSetupIds), encode(favoriteSetupIds), true);
+  }
+
+  boolean isComplete() {
+    return this.complete;
+  }
+
+  boolean isLiked(final @NotNull String setupId) {
+    return Ulid.isValid(setupId) && indexOf(this.likedSetupIds, Ulid.from(setupId)) >= 0;
+  }
+
+  boolean isFavorite(final @NotNull String setupId) {
+    return Ulid.isValid(setupId) && indexOf(this.favoriteSetupIds, Ulid.from(setupId)) >= 0;
+  }
+
+  @NotNull
+  EngagementMembership withLike(final @NotNull String setupId, final boolean present) {
+    if (!this.complete) {
+      return this;
+    }
+    return new EngagementMembership(
+        update(this.likedSetupIds, setupId, present), this.favoriteSetupIds, true);
+  }
+
+  @NotNull
+  EngagementMembership withFavorite(final @NotNull String setupId, final boolean present) {
+    if (!this.complete) {
+      return this;
+    }
+    return new EngagementMembership(
+        this.likedSetupIds, update(this.favoriteSetupIds, setupId, present), true);
+  }
+
+  int size() {
+    return (this.likedSetupIds.length + this.favoriteSetupIds.length) / 2;
+  }
+
+  private static @NotNull long[] encode(final @NotNull Collection<String> setupIds) {
+    final Ulid[] ulids =
+        setupIds.stream()
+            .filter(Ulid::isValid)
+            .map(Ulid::from)
+            .distinct()
+            .sorted(ORDER)
+            .toArray(Ulid[]::new);
+    final long[] bits = new long[ulids.length * 2];
+
+    for (int i = 0; i < ulids.length; i++) {
+      bits[2 * i] = ulids[i].getMostSignificantBits();
+      bits[2 * i + 1] = ulids[i].getLeastSignificantBits();
+    }
+
+    return bits;
+  }
+
+  private static int indexOf(final @NotNull long[] bits, final @NotNull Ulid setupId) {
+    int low = 0;
+    int high = bits.length / 2 - 1;
+
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int comparison = compare(bits[2 * mid], bits[2 * mid + 1], setupId);
+
+      if (comparison < 0) {
+        low = mid + 1;
+      } else if (comparison > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+
+    return -(low + 1);
+  }
+
+  private static int compare(final long most, final long least, final @NotNull Ulid setupId) {
+    final int comparison = Long.compare(most, setupId.getMostSignificantBits());
+    return comparison != 0 ? comparison : Long.compare(least, setupId.getLeastSignificantBits());
+  }
+
+  private static @NotNull long[] update(
+      final @NotNull long[] bits, final @NotNull String setupId, final boolean present) {
+    if (!Ulid.isValid(setupId)) {
+      return bits;
+    }
+
+    final Ulid ulid = Ulid.from(setupId);
+    final int index = indexOf(bits, ulid);
+
+    if (present == index >= 0) {
+      return bits;
+    }
+
+    final long[] updated;
+
+    if (present) {
+      final int insertAt = 2 * (-index - 1);
+      updated = new long[bits.length + 2];
+      System.arraycopy(bits, 0, updated, 0, insertAt);
+      updated[insertAt] = ulid.getMostSignificantBits();
+      updated[insertAt + 1] = ulid.getLeastSignificantBits();
+      System.arraycopy(bits, insertAt, updated, insertAt + 2, bits.length - insertAt);
+    } else {
+      final int removeAt = 2 * index;
+      updated = new long[bits.length - 2];
+      System.arraycopy(bits, 0, updated, 0, removeAt);
+      System.arraycopy(bits, removeAt + 2, updated, removeAt, bits.length - removeAt - 2);
+    }
+
+    return updated;
+  }
+}
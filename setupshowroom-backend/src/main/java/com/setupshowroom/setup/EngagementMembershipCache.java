@@ -0,0 +1,117 @@
+package com.setupshowroom.setup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.setupshowroom.setup.event.SetupEngagementEvent;
+import com.setupshowroom.setup.event.SetupEngagementEvent.Engagement;
+import com.setupshowroom.shared.cluster.ClusterBus;
+import com.setupshowroom.shared.transaction.AfterCommit;
+import com.setupshowroom.user.FavoriteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+// Entries are patched on the node that handled an engagement and invalidated on every other
+// node through the cluster bus. The write TTL bounds staleness if a notification is lost while
+// a node's listener reconnects.
+@Component
+public class EngagementMembershipCache {
+  private static final String CHANNEL = "engagement_membership_changed";
+  private static final long MAX_SETUP_IDS = 2_000_000;
+  private static final int MAX_SETUP_IDS_PER_USER = 5_000;
+  private static final Duration TTL = Duration.ofMinutes(5);
+
+  private final @NotNull LikeRepository likeRepository;
+  private final @NotNull FavoriteRepository favoriteRepository;
+  private final @NotNull ClusterBus clusterBus;
+  private final @NotNull Cache<String, EngagementMembership> memberships;
+
+  public EngagementMembershipCache(
+      final @NotNull LikeRepository likeRepository,
+      final @NotNull FavoriteRepository favoriteRepository,
+      final @NotNull ClusterBus clusterBus,
+      final @NotNull MeterRegistry meterRegistry) {
+    this.likeRepository = likeRepository;
+    this.favoriteRepository = favoriteRepository;
+    this.clusterBus = clusterBus;
+    this.memberships =
+        Caffeine.newBuilder()
+            .maximumWeight(MAX_SETUP_IDS)
+            .weigher(EngagementMembershipCache::weigh)
+            .expireAfterWrite(TTL)
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, this.memberships, "setup.engagement.memberships");
+  }
+
+  @PostConstruct
+  public void init() {
+    this.clusterBus.subscribe(
+        CHANNEL,
+        message -> {
+          if (!message.local()) {
+            this.memberships.invalidate(message.payload());
+          }
+        });
+  }
+
+  @NotNull
+  EngagementMembership get(
+      final @NotNull String userId, final @NotNull Collection<String> setupIds) {
+    final EngagementMembership membership = this.memberships.get(userId, this::load);
+
+    if (membership.isComplete() || setupIds.isEmpty()) {
+      return membership;
+    }
+
+    return EngagementMembership.of(
+        this.likeRepository.findLikedSetupIdsIn(userId, setupIds),
+        this.favoriteRepository.findFavoriteSetupIdsIn(userId, setupIds));
+  }
+
+  @EventListener
+  public void onEngagement(final @NotNull SetupEngagementEvent event) {
+    if (event.engagement() == Engagement.COMMENT) {
+      return;
+    }
+
+    final boolean present = event.delta() > 0;
+
+    this.clusterBus.publish(CHANNEL, event.userId());
+    AfterCommit.run(
+        () ->
+            this.memberships
+                .asMap()
+                .computeIfPresent(
+                    event.userId(),
+                    (userId, membership) ->
+                        event.engagement() == Engagement.LIKE
+                            ? membership.withLike(event.setupId(), present)
+                            : membership.withFavorite(event.setupId(), present)));
+  }
+
+  private @NotNull EngagementMembership load(final @NotNull String userId) {
+    final PageRequest bound = PageRequest.ofSize(MAX_SETUP_IDS_PER_USER + 1);
+    final List<String> liked = this.likeRepository.findAllLikedSetupIds(userId, bound);
+    final List<String> favorites = this.favoriteRepository.findAllFavoriteSetupIds(userId, bound);
+
+    if (liked.size() + favorites.size() > MAX_SETUP_IDS_PER_USER) {
+      return EngagementMembership.OVERFLOW;
+    }
+
+    return EngagementMembership.of(liked, favorites);
+  }
+
+  private static int weigh(
+      final @NotNull String userId, final @NotNull EngagementMembership membership) {
+    return 1 + membership.size();
+  }
+}
@@ -0,0 +1,6 @@
+package com.setupshowroom.setup;
+
+import org.jetbrains.annotations.NotNull;
+
+record ExplorePageKey(
+    @NotNull ExploreRanking ranking, @NotNull String after, long offset, int size) {}
@@ -0,0 +1,6 @@
+package com.setupshowroom.setup;
+
+public enum ExploreRanking {
+  POPULAR,
+  TRENDING
+}
@@ -1,7 +1,13 @@
 package com.setupshowroom.setup;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +17,54 @@ public interface LikeRepository extends JpaRepository<Like, String> {
   long countBySetupIdAndDeletedFalse(String id);
 
   boolean existsByUserIdAndSetupIdAndDeletedFalse(String userId, String setupId);
+
+  @Query(
+      """
+      select l.setup.id
+      from Like l
+      where l.user.id = :userId
+      and l.deleted = false
+      """)
+  List<String> findAllLikedSetupIds(String userId, Pageable pageable);
+
+  @Query(
+      """
+      select l.setup.id
+      from Like l
+      where l.user.id = :userId
+      and l.setup.id in :setupIds
+      and l.deleted = false
+      """)
+  List<String> findLikedSetupIdsIn(String userId, Collection<String> setupIds);
+
+  @Modifying
+  @Query(
+      value =
+          """
+      insert into "like" (id, user_id, setup_id, deleted, created_at, updated_at)
+      select :id, :userId, s.id, false, :now, :now
+      from setup s
+      where s.id = :setupId
+      and s.deleted = false
+      on conflict (user_id, setup_id) do update
+      set deleted = false,
+          deleted_at = null,
+          created_at = excluded.created_at,
+          updated_at = excluded.updated_at
+      where "like".deleted = true
+      """,
+      nativeQuery = true)
+  int insertLike(String id, String userId, String setupId, Instant now);
+
+  @Query(
+      value =
+          """
+      delete from "like"
+      where user_id = :userId
+      and setup_id = :setupId
+      and deleted = false
+      returning created_at
+      """,
+      nativeQuery = true)
+  Optional<Instant> deleteLike(String userId, String setupId);
 }
@@ -28,6 +28,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.SortNatural;
 import org.jetbrains.annotations.NotNull;
 
@@ -51,16 +52,25 @@ public class Setup implements Comparable<Setup> {
   @Column(name = "deleted", nullable = false)
   private boolean deleted;
 
+  @Column(name = "engagement_score", nullable = false, insertable = false, updatable = false)
+  private long engagementScore;
+
+  @Column(name = "trending_score", nullable = false, insertable = false, updatable = false)
+  private double trendingScore;
+
   @Enumerated(EnumType.STRING)
-  @ElementCollection(fetch = FetchType.EAGER)
+  @ElementCollection
+  @BatchSize(size = 50)
   @SortNatural
   private SortedSet<SetupCategory> categories = new TreeSet<>();
 
-  @ElementCollection(fetch = FetchType.EAGER)
+  @ElementCollection
+  @BatchSize(size = 50)
   @SortNatural
   private SortedSet<String> images = new TreeSet<>();
 
-  @ElementCollection(fetch = FetchType.EAGER)
+  @ElementCollection
+  @BatchSize(size = 50)
   @SortNatural
   private SortedSet<String> videos = new TreeSet<>();
 
@@ -84,13 +94,14 @@ public class Setup implements Comparable<Setup> {
   @OneToMany(mappedBy = "setup", cascade = CascadeType.ALL, orphanRemoval = true)
   private Set<Favorite> favorites = new HashSet<>();
 
-  @ManyToMany(
-      cascade = {CascadeType.PERSIST, CascadeType.MERGE},
-      fetch = FetchType.EAGER)
+  // Tags are only created by TagService's upsert, so nothing cascades to them and detached tag
+  // rows can be linked by id.
+  @ManyToMany
   @JoinTable(
       name = "setup_tag",
       joinColumns = @JoinColumn(name = "setup_id"),
       inverseJoinColumns = @JoinColumn(name = "tag_id"))
+  @BatchSize(size = 50)
   @SortNatural
   private SortedSet<Tag> tags = new TreeSet<>();
 
@@ -118,9 +129,4 @@ public class Setup implements Comparable<Setup> {
 
     return this.embeddedTimestamps.getCreatedAt().compareTo(o.embeddedTimestamps.getCreatedAt());
   }
-
-  public void addComment(final @NotNull Comment savedComment) {
-    this.comments.add(savedComment);
-    savedComment.setSetup(this);
-  }
 }
@@ -0,0 +1,85 @@
+package com.setupshowroom.setup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.setupshowroom.setup.dto.SetupInfo;
+import com.setupshowroom.setup.event.SetupChangedEvent;
+import com.setupshowroom.setup.event.SetupCreatedEvent;
+import com.setupshowroom.setup.event.SetupEngagementEvent;
+import com.setupshowroom.shared.pagination.CursorPage;
+import com.setupshowroom.shared.transaction.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SetupCache {
+  private static final long MAX_PAGES = 1_000;
+  private static final Duration PAGE_TTL = Duration.ofSeconds(30);
+  private static final long MAX_SKELETONS = 10_000;
+  private static final Duration SKELETON_TTL = Duration.ofMinutes(10);
+
+  private final @NotNull Cache<ExplorePageKey, CursorPage<String>> explorePages;
+  private final @NotNull Cache<String, SetupInfo> skeletons;
+
+  public SetupCache(final @NotNull MeterRegistry meterRegistry) {
+    this.explorePages =
+        Caffeine.newBuilder()
+            .maximumSize(MAX_PAGES)
+            .expireAfterWrite(PAGE_TTL)
+            .recordStats()
+            .build();
+    this.skeletons =
+        Caffeine.newBuilder()
+            .maximumSize(MAX_SKELETONS)
+            .expireAfterWrite(SKELETON_TTL)
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, this.explorePages, "setup.explore.pages");
+    CaffeineCacheMetrics.monitor(meterRegistry, this.skeletons, "setup.skeletons");
+  }
+
+  @NotNull
+  CursorPage<String> explorePage(
+      final @NotNull ExplorePageKey key, final @NotNull Supplier<CursorPage<String>> loader) {
+    return this.explorePages.get(key, k -> loader.get());
+  }
+
+  @NotNull
+  Map<String, SetupInfo> skeletons(
+      final @NotNull Collection<String> setupIds,
+      final @NotNull Function<Set<? extends String>, Map<String, SetupInfo>> loader) {
+    return this.skeletons.getAll(setupIds, loader);
+  }
+
+  @EventListener
+  public void onSetupChanged(final @NotNull SetupChangedEvent event) {
+    AfterCommit.run(
+        () -> {
+          this.skeletons.invalidate(event.setupId());
+
+          if (event.change() == SetupChangedEvent.Change.DELETED) {
+            this.explorePages.invalidateAll();
+          }
+        });
+  }
+
+  @EventListener
+  public void onEngagement(final @NotNull SetupEngagementEvent event) {
+    AfterCommit.run(() -> this.skeletons.invalidate(event.setupId()));
+  }
+
+  @EventListener
+  public void onSetupCreated(final @NotNull SetupCreatedEvent event) {
+    AfterCommit.run(this.explorePages::invalidateAll);
+  }
+}
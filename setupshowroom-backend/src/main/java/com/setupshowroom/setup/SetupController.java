@@ -2,12 +2,17 @@ package com.setupshowroom.setup;
 
 import com.setupshowroom.comment.dto.CommentForm;
 import com.setupshowroom.comment.dto.CommentInfo;
+import com.setupshowroom.comment.dto.CommentThreadInfo;
 import com.setupshowroom.setup.dto.ProfileSetupForm;
+import com.setupshowroom.setup.dto.SetupDetailInfo;
+import com.setupshowroom.setup.dto.SetupEngagementForm;
+import com.setupshowroom.setup.dto.SetupEngagementInfo;
 import com.setupshowroom.setup.dto.SetupForm;
 import com.setupshowroom.setup.dto.SetupInfo;
 import com.setupshowroom.setup.dto.SetupUpdateForm;
 import com.setupshowroom.shared.dto.Response;
 import com.setupshowroom.shared.security.BearerTokenService;
+import com.setupshowroom.shared.web.ETags;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
@@ -26,14 +31,18 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @RequestMapping("/api/setup")
 @RestController
 @RequiredArgsConstructor
 public class SetupController {
+  private static final int MAX_REPLY_PREVIEW = 10;
+
   private final @NotNull SetupFacade setupFacade;
   private final @NotNull BearerTokenService bearerTokenService;
 
@@ -94,8 +103,15 @@ public class SetupController {
   public ResponseEntity<Response<List<SetupInfo>>> getSetupsByUserId(
       @PathVariable final @NotNull String userId,
       @PageableDefault(sort = "embeddedTimestamps.updatedAt", direction = Sort.Direction.DESC)
-          final @NotNull Pageable pageable) {
-    final List<SetupInfo> setups = this.setupFacade.findAllSetupsByUser(userId, pageable);
+          final @NotNull Pageable pageable,
+      final @NotNull WebRequest webRequest) {
+    final var page = this.setupFacade.findSetupIdsByUser(userId, pageable);
+
+    if (ETags.notModified(webRequest, this.setupFacade.findSetupsVersion(userId, page))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    final List<SetupInfo> setups = this.setupFacade.hydrateSetups(userId, page.items());
     final Response<List<SetupInfo>> response =
         Response.success("retrieved", setups, HttpStatus.OK.value());
     return ResponseEntity.ok(response);
@@ -103,18 +119,43 @@ public class SetupController {
 
   @GetMapping("/{userId}/setups/{setupId}")
   public ResponseEntity<Response<SetupInfo>> getSetup(
-      @PathVariable final @NotNull String userId, @PathVariable final @NotNull String setupId) {
+      @PathVariable final @NotNull String userId,
+      @PathVariable final @NotNull String setupId,
+      final @NotNull WebRequest webRequest) {
+    if (ETags.notModified(webRequest, this.setupFacade.findSetupVersion(userId, setupId))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
     final var setupInfo = this.setupFacade.findSetupById(userId, setupId);
     final var response = Response.success("retrieved", setupInfo, HttpStatus.OK.value());
     return ResponseEntity.ok(response);
   }
 
+  @GetMapping("/{setupId}/detail")
+  public ResponseEntity<Response<SetupDetailInfo>> getSetupDetail(
+      @RequestHeader(HttpHeaders.AUTHORIZATION) final @NotNull String authHeader,
+      @PathVariable final @NotNull String setupId) {
+    final var detail = this.setupFacade.findSetupDetail(this.getUserId(authHeader), setupId);
+    final var response = Response.success("retrieved", detail, HttpStatus.OK.value());
+    return ResponseEntity.ok(response);
+  }
+
   @GetMapping("/{setupId}/comments")
   public ResponseEntity<Response<List<CommentInfo>>> getComments(
       @RequestHeader(HttpHeaders.AUTHORIZATION) final @NotNull String authHeader,
       @PathVariable final @NotNull String setupId,
+      @RequestParam(required = false) final String after,
       @PageableDefault final @NotNull Pageable pageable) {
     final var userId = this.getUserId(authHeader);
+
+    if (after != null) {
+      final var page =
+          this.setupFacade.getComments(userId, setupId, after, pageable.getPageSize());
+      return ResponseEntity.ok()
+          .headers(page.headers())
+          .body(Response.success("retrieved", page.items(), HttpStatus.OK.value()));
+    }
+
     final List<CommentInfo> comments = this.setupFacade.getComments(userId, setupId, pageable);
 
     final Response<List<CommentInfo>> response =
@@ -123,6 +164,51 @@ public class SetupController {
     return ResponseEntity.ok(response);
   }
 
+  @GetMapping("/{setupId}/comments/threads")
+  public ResponseEntity<Response<List<CommentThreadInfo>>> getCommentThreads(
+      @RequestHeader(HttpHeaders.AUTHORIZATION) final @NotNull String authHeader,
+      @PathVariable final @NotNull String setupId,
+      @RequestParam(defaultValue = "") final @NotNull String after,
+      @RequestParam(defaultValue = "3") final int replies,
+      @PageableDefault final @NotNull Pageable pageable) {
+    final var userId = this.getUserId(authHeader);
+    final int replyLimit = Math.clamp(replies, 0, MAX_REPLY_PREVIEW);
+    final var page =
+        this.setupFacade.getCommentThreads(
+            userId, setupId, after, pageable.getPageSize(), replyLimit);
+
+    return ResponseEntity.ok()
+        .headers(page.headers())
+        .body(Response.success("retrieved", page.items(), HttpStatus.OK.value()));
+  }
+
+  @GetMapping("/{setupId}/comments/{commentId}/replies")
+  public ResponseEntity<Response<List<CommentThreadInfo>>> getReplies(
+      @RequestHeader(HttpHeaders.AUTHORIZATION) final @NotNull String authHeader,
+      @PathVariable final @NotNull String setupId,
+      @PathVariable final @NotNull String commentId,
+      @RequestParam(defaultValue = "") final @NotNull String after,
+      @PageableDefault final @NotNull Pageable pageable) {
+    final var userId = this.getUserId(authHeader);
+    final var page =
+        this.setupFacade.getReplies(userId, setupId, commentId, after, pageable.getPageSize());
+
+    return ResponseEntity.ok()
+        .headers(page.headers())
+        .body(Response.success("retrieved", page.items(), HttpStatus.OK.value()));
+  }
+
+  @PostMapping("/{setupId}/comment/{commentId}/reply")
+  public ResponseEntity<Response<CommentInfo>> reply(
+      @RequestHeader(HttpHeaders.AUTHORIZATION) final @NotNull String authHeader,
+      @RequestBody @Valid final @NotNull CommentForm commentForm,
+      @PathVariable final @NotNull String setupId,
+      @PathVariable final @NotNull String commentId) {
+    final String userId = this.getUserId(authHeader);
+    final var info = this.setupFacade.addReply(setupId, commentId, userId, commentForm);
+    return ResponseEntity.ok(Response.success("replied", info, HttpStatus.OK.value()));
+  }
+
   @PostMapping("/{setupId}/comment")
   public ResponseEntity<Response<CommentInfo>> comment(
       @RequestHeader(HttpHeaders.AUTHORIZATION) final @NotNull String authHeader,
@@ -159,6 +245,17 @@ public class SetupController {
     return ResponseEntity.ok(response);
   }
 
+  @PostMapping("/engagement")
+  public ResponseEntity<Response<List<SetupEngagementInfo>>> getEngagement(
+      @RequestHeader(HttpHeaders.AUTHORIZATION) final @NotNull String authHeader,
+      @RequestBody @Valid final @NotNull SetupEngagementForm engagementForm) {
+    final String userId = this.getUserId(authHeader);
+    final var engagement = this.setupFacade.findEngagement(userId, engagementForm.getSetupIds());
+
+    final var response = Response.success("retrieved", engagement, HttpStatus.OK.value());
+    return ResponseEntity.ok(response);
+  }
+
   @PostMapping("/{setupId}/like")
   public ResponseEntity<Response<?>> like(
       @RequestHeader(HttpHeaders.AUTHORIZATION) final @NotNull String authHeader,
@@ -211,12 +308,11 @@ public class SetupController {
   }
 
   @DeleteMapping("/{userId}/setups/{setupId}/comments/{commentId}/unlike")
-  @SuppressWarnings("unused")
   public ResponseEntity<Response<?>> unlikeComment(
       @PathVariable final @NotNull String userId,
       @PathVariable final @NotNull String setupId,
       @PathVariable final @NotNull String commentId) {
-    this.setupFacade.unlikeComment(commentId, userId);
+    this.setupFacade.unlikeComment(setupId, commentId, userId);
     final var response = Response.success("unliked", null, HttpStatus.OK.value());
     return ResponseEntity.ok(response);
   }
@@ -0,0 +1,31 @@
+package com.setupshowroom.setup;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "setup_counter")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SetupCounter {
+  @Id
+  @Column(name = "setup_id", length = 26, nullable = false, updatable = false)
+  private String setupId;
+
+  @Column(name = "like_count", nullable = false)
+  private long likeCount;
+
+  @Column(name = "comment_count", nullable = false)
+  private long commentCount;
+
+  @Column(name = "favorite_count", nullable = false)
+  private long favoriteCount;
+}
@@ -0,0 +1,15 @@
+package com.setupshowroom.setup;
+
+public interface SetupCounterDrift {
+  String getSetupId();
+
+  long getLikeDrift();
+
+  long getCommentDrift();
+
+  long getFavoriteDrift();
+
+  long getEngagementDrift();
+
+  double getTrendingDrift();
+}
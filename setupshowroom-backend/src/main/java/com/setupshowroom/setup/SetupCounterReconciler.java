@@ -0,0 +1,112 @@
+package com.setupshowroom.setup;
+
+import com.setupshowroom.setup.event.SetupEngagementEvent.Engagement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Every replica holds a few seconds of counter deltas in memory, so a mismatch against the
+// source rows is not drift by itself. Drift found on the first pass is only repaired if a
+// second pass, once every replica has flushed what it held, finds exactly the same drift.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SetupCounterReconciler {
+  private static final String LOCK_NAME = "setup_counter_repair";
+  private static final Duration SETTLE_DELAY = Duration.ofMinutes(1);
+  private static final Duration TRENDING_WINDOW = Duration.ofDays(14);
+
+  private final @NotNull SetupCounterRepository setupCounterRepository;
+  private final @NotNull TaskScheduler taskScheduler;
+  private final @NotNull TransactionTemplate transactionTemplate;
+
+  @Scheduled(cron = "0 15 4 * * *")
+  public void reconcileCounters() {
+    final List<SetupCounterDrift> observed =
+        this.underLock(() -> this.findDrift(true, List.of()), List.of());
+
+    if (!observed.isEmpty()) {
+      this.taskScheduler.schedule(() -> this.repair(observed), Instant.now().plus(SETTLE_DELAY));
+    }
+  }
+
+  private void repair(final @NotNull List<SetupCounterDrift> observed) {
+    final int repaired =
+        this.underLock(
+            () -> {
+              final List<String> setupIds =
+                  observed.stream().map(SetupCounterDrift::getSetupId).toList();
+              final Map<String, SetupCounterDrift> current =
+                  this.findDrift(false, setupIds).stream()
+                      .collect(
+                          Collectors.toMap(SetupCounterDrift::getSetupId, Function.identity()));
+              final List<SetupCounterDrift> confirmed =
+                  observed.stream()
+                      .filter(drift -> isSame(drift, current.get(drift.getSetupId())))
+                      .toList();
+
+              return confirmed.isEmpty() ? 0 : this.apply(confirmed);
+            },
+            0);
+
+    if (repaired > 0) {
+      log.warn("Setup counters drifted on {} setups and were repaired", repaired);
+    }
+  }
+
+  // Only one replica measures or repairs at a time; the others skip the run.
+  private <T> @NotNull T underLock(
+      final @NotNull Supplier<T> work, final @NotNull T skipped) {
+    final T result =
+        this.transactionTemplate.execute(
+            status ->
+                this.setupCounterRepository.tryAdvisoryLock(LOCK_NAME) ? work.get() : skipped);
+    return Objects.requireNonNullElse(result, skipped);
+  }
+
+  private @NotNull List<SetupCounterDrift> findDrift(
+      final boolean all, final @NotNull List<String> setupIds) {
+    return this.setupCounterRepository.findDrift(
+        all,
+        setupIds.toArray(String[]::new),
+        Engagement.LIKE.weight(),
+        Engagement.COMMENT.weight(),
+        Engagement.FAVORITE.weight(),
+        TrendingService.DECAY_RATE,
+        TrendingService.SCORE_FLOOR,
+        Instant.now().minus(TRENDING_WINDOW));
+  }
+
+  private int apply(final @NotNull List<SetupCounterDrift> drifts) {
+    return this.setupCounterRepository.repairDrift(
+        drifts.stream().map(SetupCounterDrift::getSetupId).toArray(String[]::new),
+        drifts.stream().map(SetupCounterDrift::getLikeDrift).toArray(Long[]::new),
+        drifts.stream().map(SetupCounterDrift::getCommentDrift).toArray(Long[]::new),
+        drifts.stream().map(SetupCounterDrift::getFavoriteDrift).toArray(Long[]::new),
+        drifts.stream().map(SetupCounterDrift::getEngagementDrift).toArray(Long[]::new),
+        drifts.stream().map(SetupCounterDrift::getTrendingDrift).toArray(Double[]::new));
+  }
+
+  private static boolean isSame(
+      final @NotNull SetupCounterDrift observed, final SetupCounterDrift current) {
+    return current != null
+        && observed.getLikeDrift() == current.getLikeDrift()
+        && observed.getCommentDrift() == current.getCommentDrift()
+        && observed.getFavoriteDrift() == current.getFavoriteDrift()
+        && observed.getEngagementDrift() == current.getEngagementDrift()
+        && Math.abs(observed.getTrendingDrift() - current.getTrendingDrift())
+            <= TrendingService.SCORE_FLOOR;
+  }
+}
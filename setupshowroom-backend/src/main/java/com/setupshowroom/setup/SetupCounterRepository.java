@@ -0,0 +1,199 @@
+package com.setupshowroom.setup;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SetupCounterRepository extends JpaRepository<SetupCounter, String> {
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          """
+      with deltas as (
+        select d.setup_id, d.likes, d.comments, d.favorites, d.trending
+        from unnest(
+          cast(:setupIds as varchar[]),
+          cast(:likes as bigint[]),
+          cast(:comments as bigint[]),
+          cast(:favorites as bigint[]),
+          cast(:trending as float8[])
+        ) as d(setup_id, likes, comments, favorites, trending)
+        join setup s on s.id = d.setup_id
+      ),
+      counters as (
+        insert into setup_counter (setup_id, like_count, comment_count, favorite_count)
+        select d.setup_id, d.likes, d.comments, d.favorites
+        from deltas d
+        on conflict (setup_id) do update
+        set like_count = setup_counter.like_count + excluded.like_count,
+            comment_count = setup_counter.comment_count + excluded.comment_count,
+            favorite_count = setup_counter.favorite_count + excluded.favorite_count
+      )
+      update setup s
+      set engagement_score = s.engagement_score + d.likes + d.comments + d.favorites,
+          trending_score = greatest(
+            s.trending_score
+              + d.trending * exp(:decayRate * extract(epoch from (
+                :now - (select t.started_at from trending_epoch t where t.id = 1)))),
+            0)
+      from deltas d
+      where s.id = d.setup_id
+      """,
+      nativeQuery = true)
+  void applyDeltas(
+      @NotNull String[] setupIds,
+      @NotNull Long[] likes,
+      @NotNull Long[] comments,
+      @NotNull Long[] favorites,
+      @NotNull Double[] trending,
+      double decayRate,
+      @NotNull Instant now);
+
+  @Query(value = "select pg_try_advisory_xact_lock(hashtext(:name))", nativeQuery = true)
+  boolean tryAdvisoryLock(@NotNull String name);
+
+  // Compares the counters and scores against their source rows and returns only the setups
+  // that differ. Trending contributions older than :since have decayed to nothing and are
+  // skipped. The epoch row is share-locked so renormalization cannot rescale scores while the
+  // drift is measured and repaired.
+  @Query(
+      value =
+          """
+      with epoch as (
+        select t.started_at from trending_epoch t where t.id = 1 for share
+      ),
+      likes as (
+        select l.setup_id, count(*) as total
+        from "like" l
+        where l.deleted = false
+        and (:all or l.setup_id = any(cast(:setupIds as varchar[])))
+        group by l.setup_id
+      ),
+      comments as (
+        select c.setup_id, count(*) as total
+        from comment c
+        where c.deleted = false
+        and (:all or c.setup_id = any(cast(:setupIds as varchar[])))
+        group by c.setup_id
+      ),
+      favorites as (
+        select f.setup_id, count(*) as total
+        from favorite f
+        where f.deleted = false
+        and (:all or f.setup_id = any(cast(:setupIds as varchar[])))
+        group by f.setup_id
+      ),
+      trending as (
+        select e.setup_id,
+          sum(e.weight * exp(:decayRate * extract(epoch from (
+            e.created_at - (select started_at from epoch))))) as score
+        from (
+          select l.setup_id, l.created_at, :likeWeight as weight
+          from "like" l
+          where l.deleted = false and l.created_at > :since
+          union all
+          select c.setup_id, c.created_at, :commentWeight
+          from comment c
+          where c.deleted = false and c.created_at > :since
+          union all
+          select f.setup_id, f.created_at, :favoriteWeight
+          from favorite f
+          where f.deleted = false and f.created_at > :since
+        ) e
+        where :all or e.setup_id = any(cast(:setupIds as varchar[]))
+        group by e.setup_id
+      ),
+      actual as (
+        select s.id as setup_id,
+          coalesce(l.total, 0) as likes,
+          coalesce(c.total, 0) as comments,
+          coalesce(f.total, 0) as favorites,
+          coalesce(t.score, 0) as trending,
+          coalesce(sc.like_count, 0) as like_count,
+          coalesce(sc.comment_count, 0) as comment_count,
+          coalesce(sc.favorite_count, 0) as favorite_count,
+          s.engagement_score,
+          s.trending_score
+        from setup s
+        left join likes l on l.setup_id = s.id
+        left join comments c on c.setup_id = s.id
+        left join favorites f on f.setup_id = s.id
+        left join trending t on t.setup_id = s.id
+        left join setup_counter sc on sc.setup_id = s.id
+        where s.deleted = false
+        and (:all or s.id = any(cast(:setupIds as varchar[])))
+      )
+      select a.setup_id as setupId,
+        a.likes - a.like_count as likeDrift,
+        a.comments - a.comment_count as commentDrift,
+        a.favorites - a.favorite_count as favoriteDrift,
+        a.likes + a.comments + a.favorites - a.engagement_score as engagementDrift,
+        a.trending - a.trending_score as trendingDrift
+      from actual a
+      where (a.likes, a.comments, a.favorites)
+        is distinct from (a.like_count, a.comment_count, a.favorite_count)
+      or a.likes + a.comments + a.favorites <> a.engagement_score
+      or abs(a.trending - a.trending_score) > :tolerance
+      """,
+      nativeQuery = true)
+  @NotNull
+  List<SetupCounterDrift> findDrift(
+      boolean all,
+      @NotNull String[] setupIds,
+      int likeWeight,
+      int commentWeight,
+      int favoriteWeight,
+      double decayRate,
+      double tolerance,
+      @NotNull Instant since);
+
+  // Drift is added rather than overwritten, so a flush that lands concurrently still counts.
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          """
+      with drifts as (
+        select d.setup_id, d.likes, d.comments, d.favorites, d.engagement, d.trending
+        from unnest(
+          cast(:setupIds as varchar[]),
+          cast(:likes as bigint[]),
+          cast(:comments as bigint[]),
+          cast(:favorites as bigint[]),
+          cast(:engagement as bigint[]),
+          cast(:trending as float8[])
+        ) as d(setup_id, likes, comments, favorites, engagement, trending)
+        join setup s on s.id = d.setup_id
+      ),
+      counters as (
+        insert into setup_counter (setup_id, like_count, comment_count, favorite_count)
+        select d.setup_id, d.likes, d.comments, d.favorites
+        from drifts d
+        where (d.likes, d.comments, d.favorites) <> (0, 0, 0)
+        on conflict (setup_id) do update
+        set like_count = setup_counter.like_count + excluded.like_count,
+            comment_count = setup_counter.comment_count + excluded.comment_count,
+            favorite_count = setup_counter.favorite_count + excluded.favorite_count
+      )
+      update setup s
+      set engagement_score = s.engagement_score + d.engagement,
+          trending_score = greatest(s.trending_score + d.trending, 0)
+      from drifts d
+      where s.id = d.setup_id
+      """,
+      nativeQuery = true)
+  int repairDrift(
+      @NotNull String[] setupIds,
+      @NotNull Long[] likes,
+      @NotNull Long[] comments,
+      @NotNull Long[] favorites,
+      @NotNull Long[] engagement,
+      @NotNull Double[] trending);
+}
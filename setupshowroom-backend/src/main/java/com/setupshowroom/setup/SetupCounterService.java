@@ -0,0 +1,254 @@
+package com.setupshowroom.setup;
+
+import com.setupshowroom.setup.event.SetupEngagementEvent;
+import com.setupshowroom.setup.event.SetupEngagementEvent.Engagement;
+import com.setupshowroom.shared.transaction.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SetupCounterService {
+  private static final double MILLIS_PER_SECOND = 1000.0;
+
+  private final @NotNull SetupCounterRepository setupCounterRepository;
+  private final @NotNull ApplicationEventPublisher eventPublisher;
+
+  // Writers add to the current generation. A flush swaps in a fresh one, seals the old one and
+  // waits for the writers still inside it before draining, so no late add is lost. The drained
+  // generation stays readable until its deltas are committed.
+  private volatile @NotNull Generation current = new Generation();
+  private volatile @NotNull Generation flushing = new Generation();
+
+  @PreDestroy
+  public void shutdown() {
+    this.flush();
+  }
+
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @EventListener
+  public void onEngagement(final @NotNull SetupEngagementEvent event) {
+    AfterCommit.run(() -> this.record(event));
+  }
+
+  public @NotNull Map<String, SetupCounts> findCounts(final @NotNull Collection<String> setupIds) {
+    final Map<String, SetupCounts> counts = new HashMap<>();
+
+    this.setupCounterRepository
+        .findAllById(setupIds)
+        .forEach(
+            counter ->
+                counts.put(
+                    counter.getSetupId(),
+                    new SetupCounts(
+                        counter.getLikeCount(),
+                        counter.getCommentCount(),
+                        counter.getFavoriteCount())));
+
+    for (final String setupId : setupIds) {
+      final SetupCounts pending = this.pendingCounts(setupId);
+
+      if (!pending.equals(SetupCounts.ZERO)) {
+        counts.merge(setupId, pending, SetupCounts::plus);
+      }
+    }
+
+    return counts;
+  }
+
+  private void record(final @NotNull SetupEngagementEvent event) {
+    while (true) {
+      final Generation generation = this.current;
+      generation.writers.incrementAndGet();
+
+      try {
+        if (!generation.sealed) {
+          generation
+              .counts
+              .computeIfAbsent(event.setupId(), id -> new PendingCounts())
+              .add(event.engagement(), event.delta(), event.occurredAt());
+          return;
+        }
+      } finally {
+        generation.writers.decrementAndGet();
+      }
+    }
+  }
+
+  private @NotNull SetupCounts pendingCounts(final @NotNull String setupId) {
+    SetupCounts pending = SetupCounts.ZERO;
+
+    for (final Generation generation : List.of(this.flushing, this.current)) {
+      final PendingCounts counts = generation.counts.get(setupId);
+
+      if (counts != null) {
+        pending = pending.plus(counts.snapshot());
+      }
+    }
+
+    return pending;
+  }
+
+  @Scheduled(fixedDelayString = "PT2S")
+  public synchronized void flush() {
+    final Generation draining = this.current;
+    this.flushing = draining;
+    this.current = new Generation();
+    draining.seal();
+
+    try {
+      this.drain(draining);
+    } finally {
+      this.flushing = new Generation();
+    }
+  }
+
+  private void drain(final @NotNull Generation draining) {
+    if (draining.counts.isEmpty()) {
+      return;
+    }
+
+    final Instant now = Instant.now();
+    final Map<String, PendingDelta> deltas = new HashMap<>();
+    draining.counts.forEach(
+        (setupId, counts) -> {
+          final PendingDelta delta = counts.drain(now);
+
+          if (!delta.isEmpty()) {
+            deltas.put(setupId, delta);
+          }
+        });
+
+    if (deltas.isEmpty()) {
+      return;
+    }
+
+    final String[] setupIds = deltas.keySet().stream().sorted().toArray(String[]::new);
+    final Long[] likes = new Long[setupIds.length];
+    final Long[] comments = new Long[setupIds.length];
+    final Long[] favorites = new Long[setupIds.length];
+    final Double[] trending = new Double[setupIds.length];
+
+    for (int i = 0; i < setupIds.length; i++) {
+      final PendingDelta delta = deltas.get(setupIds[i]);
+      likes[i] = delta.counts().likes();
+      comments[i] = delta.counts().comments();
+      favorites[i] = delta.counts().favorites();
+      trending[i] = delta.trending();
+    }
+
+    try {
+      this.setupCounterRepository.applyDeltas(
+          setupIds,
+          likes,
+          comments,
+          favorites,
+          trending,
+          TrendingService.DECAY_RATE,
+          now);
+    } catch (final Exception e) {
+      log.error("Setup counter flush failed, retrying next cycle", e);
+      deltas.forEach(
+          (setupId, delta) ->
+              this.current
+                  .counts
+                  .computeIfAbsent(setupId, id -> new PendingCounts())
+                  .restore(delta, now));
+      return;
+    }
+
+    final List<String> liked =
+        deltas.entrySet().stream()
+            .filter(entry -> entry.getValue().counts().likes() != 0)
+            .map(Map.Entry::getKey)
+            .toList();
+    if (!liked.isEmpty()) {
+      this.eventPublisher.publishEvent(new SetupLikesFlushedEvent(liked));
+    }
+  }
+
+  // A writer announces itself before it checks the seal and the flush seals before it waits,
+  // so every writer either sees the seal and retries on the next generation or is waited for.
+  private static final class Generation {
+    private final @NotNull Map<String, PendingCounts> counts = new ConcurrentHashMap<>();
+    private final @NotNull AtomicInteger writers = new AtomicInteger();
+    private volatile boolean sealed;
+
+    void seal() {
+      this.sealed = true;
+
+      while (this.writers.get() > 0) {
+        Thread.onSpinWait();
+      }
+    }
+  }
+
+  // The trending part is expressed at the time the delta was drained.
+  private record PendingDelta(@NotNull SetupCounts counts, double trending) {
+    boolean isEmpty() {
+      return this.counts.equals(SetupCounts.ZERO) && this.trending == 0;
+    }
+  }
+
+  // The trending delta is kept relative to the moment this entry was created, so each
+  // engagement adds or takes back the weight it had when it happened, not when it is flushed.
+  private static final class PendingCounts {
+    private final @NotNull Instant reference = Instant.now();
+    private final @NotNull LongAdder likes = new LongAdder();
+    private final @NotNull LongAdder comments = new LongAdder();
+    private final @NotNull LongAdder favorites = new LongAdder();
+    private final @NotNull DoubleAdder trending = new DoubleAdder();
+
+    void add(final @NotNull Engagement engagement, final int delta, final @NotNull Instant at) {
+      switch (engagement) {
+        case LIKE -> this.likes.add(delta);
+        case COMMENT -> this.comments.add(delta);
+        case FAVORITE -> this.favorites.add(delta);
+      }
+      this.trending.add(delta * engagement.weight() * decay(this.reference, at));
+    }
+
+    void restore(final @NotNull PendingDelta delta, final @NotNull Instant drainedAt) {
+      this.likes.add(delta.counts().likes());
+      this.comments.add(delta.counts().comments());
+      this.favorites.add(delta.counts().favorites());
+      this.trending.add(delta.trending() * decay(this.reference, drainedAt));
+    }
+
+    @NotNull
+    SetupCounts snapshot() {
+      return new SetupCounts(this.likes.sum(), this.comments.sum(), this.favorites.sum());
+    }
+
+    // Only called on a sealed generation, which is dropped once its deltas are applied, so the
+    // sums are left in place for readers until then.
+    @NotNull
+    PendingDelta drain(final @NotNull Instant now) {
+      return new PendingDelta(this.snapshot(), this.trending.sum() * decay(now, this.reference));
+    }
+
+    private static double decay(final @NotNull Instant from, final @NotNull Instant to) {
+      final double seconds = Duration.between(from, to).toMillis() / MILLIS_PER_SECOND;
+      return Math.exp(TrendingService.DECAY_RATE * seconds);
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.setupshowroom.setup;
+
+import org.jetbrains.annotations.NotNull;
+
+record SetupCounts(long likes, long comments, long favorites) {
+  static final SetupCounts ZERO = new SetupCounts(0, 0, 0);
+
+  @NotNull
+  SetupCounts plus(final @NotNull SetupCounts other) {
+    return new SetupCounts(
+        this.likes + other.likes, this.comments + other.comments, this.favorites + other.favorites);
+  }
+}
@@ -0,0 +1,87 @@
+package com.setupshowroom.setup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Runs the parts of a setup detail page concurrently. orTimeout only stops waiting for a part,
+// so each part also holds a permit, keeping bursts from draining the connection pool, and runs
+// in a transaction whose timeout is applied to its queries, so a late part is cancelled in the
+// database instead of holding its connection.
+@Component
+class SetupDetailRunner {
+  private static final Duration PART_TIMEOUT = Duration.ofSeconds(2);
+  private static final double POOL_SHARE = 0.5;
+  private static final int DEFAULT_POOL_SIZE = 10;
+
+  private final @NotNull ExecutorService setupDetailExecutor;
+  private final @NotNull Semaphore permits;
+  private final @NotNull TransactionTemplate transactionTemplate;
+
+  SetupDetailRunner(
+      final @NotNull ExecutorService setupDetailExecutor,
+      final @NotNull DataSource dataSource,
+      final @NotNull PlatformTransactionManager transactionManager) {
+    this.setupDetailExecutor = setupDetailExecutor;
+
+    final int poolSize =
+        dataSource instanceof final HikariDataSource hikari
+            ? hikari.getMaximumPoolSize()
+            : DEFAULT_POOL_SIZE;
+    this.permits = new Semaphore(Math.max(1, (int) (poolSize * POOL_SHARE)), true);
+
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.transactionTemplate.setTimeout((int) PART_TIMEOUT.toSeconds());
+  }
+
+  // A part that is cancelled or times out interrupts its task, so one still waiting for a
+  // permit gives up instead of taking it.
+  <T> @NotNull CompletableFuture<T> fork(final @NotNull Supplier<T> part) {
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final Future<?> task =
+        this.setupDetailExecutor.submit(
+            () -> {
+              try {
+                result.complete(this.run(part));
+              } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+              }
+            });
+
+    result.whenComplete(
+        (value, error) -> {
+          if (error != null) {
+            task.cancel(true);
+          }
+        });
+    return result.orTimeout(PART_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private <T> T run(final @NotNull Supplier<T> part) {
+    try {
+      if (!this.permits.tryAcquire(PART_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+        throw new IllegalStateException("setupDetailBusy");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("setupDetailInterrupted", e);
+    }
+
+    try {
+      return this.transactionTemplate.execute(status -> part.get());
+    } finally {
+      this.permits.release();
+    }
+  }
+}
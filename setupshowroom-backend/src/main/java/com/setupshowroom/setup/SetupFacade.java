@@ -6,25 +6,34 @@ import static com.setupshowroom.shared.storage.SetupStorageService.VIDEO_PATH;
 import com.github.f4b6a3.ulid.UlidCreator;
 import com.setupshowroom.comment.dto.CommentForm;
 import com.setupshowroom.comment.dto.CommentInfo;
-import com.setupshowroom.notification.NotificationService;
-import com.setupshowroom.notification.NotificationType;
-import com.setupshowroom.notification.dto.NotificationForm;
+import com.setupshowroom.comment.dto.CommentThreadInfo;
 import com.setupshowroom.setup.dto.ProfileSetupForm;
+import com.setupshowroom.setup.dto.SetupDetailInfo;
+import com.setupshowroom.setup.dto.SetupEngagementInfo;
 import com.setupshowroom.setup.dto.SetupForm;
 import com.setupshowroom.setup.dto.SetupInfo;
+import com.setupshowroom.setup.dto.SetupSearchResult;
 import com.setupshowroom.setup.dto.SetupUpdateForm;
 import com.setupshowroom.shared.contentmoderation.ContentModerationService;
+import com.setupshowroom.shared.pagination.CursorPage;
 import com.setupshowroom.shared.storage.SetupStorageService;
 import com.setupshowroom.user.User;
 import com.setupshowroom.user.UserRepository;
+import com.setupshowroom.user.UserService;
+import com.setupshowroom.user.profile.dto.ProfileInfo;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
+import java.util.Optional;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
@@ -33,11 +42,15 @@ import org.springframework.web.multipart.MultipartFile;
 @Component
 @RequiredArgsConstructor
 public class SetupFacade {
+  private static final int DETAIL_COMMENT_PAGE_SIZE = 20;
+
   private final @NotNull SetupService setupService;
+  private final @NotNull SetupSearchService setupSearchService;
   private final @NotNull SetupStorageService setupStorageService;
   private final @NotNull UserRepository userRepository;
-  private final @NotNull NotificationService notificationService;
   private final @NotNull ContentModerationService contentModerationService;
+  private final @NotNull UserService userService;
+  private final @NotNull SetupDetailRunner setupDetailRunner;
 
   public @NotNull SetupInfo createSetup(
       final @NotNull String userId,
@@ -62,11 +75,28 @@ public class SetupFacade {
     return this.setupService.createSetup(user, setupForm, imageUrls, videoUrls);
   }
 
-  public @NotNull List<SetupInfo> findAllSetupsByUser(
+  public @NotNull CursorPage<String> findSetupIdsByUser(
       final @NotNull String userId, final @NotNull Pageable pageable) {
     final User user = this.findUserById(userId);
 
-    return this.setupService.findAllSetupsByUser(user, pageable);
+    return this.setupService.findSetupIdsByUser(user, pageable);
+  }
+
+  public @NotNull List<SetupInfo> hydrateSetups(
+      final @NotNull String userId, final @NotNull List<String> setupIds) {
+    final User user = this.findUserById(userId);
+
+    return this.setupService.hydrateSetups(user, setupIds);
+  }
+
+  public @NotNull Optional<String> findSetupsVersion(
+      final @NotNull String userId, final @NotNull CursorPage<String> page) {
+    return this.setupService.findSetupsVersion(userId, page);
+  }
+
+  public @NotNull Optional<String> findSetupVersion(
+      final @NotNull String userId, final @NotNull String setupId) {
+    return this.setupService.findSetupsVersion(userId, new CursorPage<>(List.of(setupId), null));
   }
 
   public @NotNull SetupInfo findSetupById(
@@ -76,6 +106,37 @@ public class SetupFacade {
     return this.setupService.findSetupById(user, setupId);
   }
 
+  public @NotNull List<SetupEngagementInfo> findEngagement(
+      final @NotNull String userId, final @NotNull List<String> setupIds) {
+    return this.setupService.findEngagement(this.findUserById(userId), setupIds);
+  }
+
+  public @NotNull SetupDetailInfo findSetupDetail(
+      final @NotNull String userId, final @NotNull String setupId) {
+    final User viewer = this.findUserById(userId);
+    final String ownerId = this.setupService.findSetupOwnerId(setupId);
+
+    final var setupPart = this.fork(() -> this.setupService.findSetupById(viewer, setupId));
+    final var commentsPart =
+        this.fork(
+            () ->
+                this.setupService.getComments(
+                    setupId, viewer, PageRequest.ofSize(DETAIL_COMMENT_PAGE_SIZE)));
+    final var ownerPart = this.fork(() -> this.userService.findUserProfile(ownerId));
+
+    // The setup and its owner are required, so a failure in either fails the page. The parts
+    // still pending are cancelled, which gives their permits back instead of finishing work
+    // nobody reads.
+    final SetupInfo setup = joinOrCancel(setupPart, commentsPart, ownerPart);
+    final ProfileInfo owner = joinOrCancel(ownerPart, commentsPart);
+
+    return SetupDetailInfo.builder()
+        .setup(setup.toBuilder().ownerSetup(ownerId.equals(viewer.getId())).build())
+        .comments(joinOrDefault(commentsPart, List.of(), setupId))
+        .owner(owner)
+        .build();
+  }
+
   public void addToFavorite(final @NotNull String setupId, final @NotNull String userId) {
     final User user = this.findUserById(userId);
 
@@ -169,22 +230,8 @@ public class SetupFacade {
 
   public void like(final @NotNull String setupId, final @NotNull String userId) {
     final var user = this.findUserById(userId);
-    final var setup = this.setupService.like(setupId, user);
-
-    if (setup.getUser().getId().equals(user.getId())) {
-      return;
-    }
 
-    final var form =
-        NotificationForm.builder()
-            .to(setup.getUser().getId())
-            .title("New Like")
-            .type(NotificationType.LIKE)
-            .description("%s liked your setup".formatted(user.getUsername()))
-            .action(String.format("/%s/%s", "setups", setup.getId()))
-            .build();
-
-    this.notificationService.createNotification(form, user.getId());
+    this.setupService.like(setupId, user);
   }
 
   public void unlike(final @NotNull String setupId, final @NotNull String userId) {
@@ -198,25 +245,8 @@ public class SetupFacade {
       final @NotNull String userId,
       final @NotNull CommentForm commentForm) {
     final var user = this.findUserById(userId);
-    final var commentInfo = this.setupService.addComment(setupId, user, commentForm);
-    final var setupOwner = this.setupService.findSetupOwnerBySetupId(setupId);
-
-    if (setupOwner.getId().equals(user.getId())) {
-      return commentInfo;
-    }
-
-    final var form =
-        NotificationForm.builder()
-            .to(setupOwner.getId())
-            .title("New Comment")
-            .description(commentInfo.getAuthor().getUsername() + " commented on your setup")
-            .type(NotificationType.COMMENT)
-            .action(String.format("/%s/%s", "setups", setupId))
-            .build();
-
-    this.notificationService.createNotification(form, user.getId());
 
-    return commentInfo;
+    return this.setupService.addComment(setupId, user, commentForm);
   }
 
   public void deleteComment(
@@ -237,22 +267,58 @@ public class SetupFacade {
     return this.setupService.editComment(setupId, user, commentId, commentForm);
   }
 
+  private <T> @NotNull CompletableFuture<T> fork(final @NotNull Supplier<T> part) {
+    return this.setupDetailRunner.fork(part);
+  }
+
+  private static <T> T joinOrCancel(
+      final @NotNull CompletableFuture<T> part, final @NotNull CompletableFuture<?>... pending) {
+    try {
+      return part.join();
+    } catch (final CompletionException e) {
+      for (final CompletableFuture<?> other : pending) {
+        other.cancel(true);
+      }
+      if (e.getCause() instanceof final RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private static <T> T joinOrDefault(
+      final @NotNull CompletableFuture<T> part, final T fallback, final @NotNull String setupId) {
+    try {
+      return part.join();
+    } catch (final CompletionException e) {
+      log.warn("Setup detail part for {} failed, serving without it", setupId, e.getCause());
+      return fallback;
+    }
+  }
+
   private @NotNull User findUserById(final @NotNull String userId) {
     return this.userRepository
         .findUserById(userId)
         .orElseThrow(() -> new IllegalArgumentException("userNotFound"));
   }
 
-  public @NotNull List<SetupInfo> exploreSetups(
-      final @NotNull String userId, final @NotNull Pageable pageable) {
-    final var user = this.findUserById(userId);
-    return this.setupService.exploreSetups(user, pageable);
+  public @NotNull CursorPage<String> exploreSetupIds(
+      final @NotNull ExploreRanking ranking, final @NotNull Pageable pageable) {
+    return this.setupService.exploreSetupIds(ranking, pageable);
   }
 
-  public @NotNull List<SetupInfo> feedSetups(
-      final @NotNull String userId, final @NotNull Pageable pageable) {
+  public @NotNull CursorPage<String> exploreSetupIds(
+      final @NotNull ExploreRanking ranking, final @NotNull String after, final int size) {
+    return this.setupService.exploreSetupIds(ranking, after, size);
+  }
+
+  public @NotNull SetupSearchResult searchSetups(
+      final @NotNull String userId,
+      final @NotNull String query,
+      final @NotNull String after,
+      final int size) {
     final var user = this.findUserById(userId);
-    return this.setupService.feedSetups(user, pageable);
+    return this.setupSearchService.search(user, query, after, size);
   }
 
   public @NotNull List<CommentInfo> getComments(
@@ -263,39 +329,69 @@ public class SetupFacade {
     return this.setupService.getComments(setupId, user, pageable);
   }
 
+  public @NotNull CommentInfo addReply(
+      final @NotNull String setupId,
+      final @NotNull String commentId,
+      final @NotNull String userId,
+      final @NotNull CommentForm commentForm) {
+    final var user = this.findUserById(userId);
+    return this.setupService.addReply(setupId, commentId, user, commentForm);
+  }
+
+  public @NotNull CursorPage<CommentThreadInfo> getCommentThreads(
+      final @NotNull String userId,
+      final @NotNull String setupId,
+      final @NotNull String after,
+      final int size,
+      final int replyLimit) {
+    final var user = this.findUserById(userId);
+    return this.setupService.getCommentThreads(setupId, user, after, size, replyLimit);
+  }
+
+  public @NotNull CursorPage<CommentThreadInfo> getReplies(
+      final @NotNull String userId,
+      final @NotNull String setupId,
+      final @NotNull String commentId,
+      final @NotNull String after,
+      final int size) {
+    final var user = this.findUserById(userId);
+    return this.setupService.getReplies(setupId, commentId, user, after, size);
+  }
+
+  public @NotNull CursorPage<CommentInfo> getComments(
+      final @NotNull String userId,
+      final @NotNull String setupId,
+      final @NotNull String after,
+      final int size) {
+    final var user = this.findUserById(userId);
+    return this.setupService.getComments(setupId, user, after, size);
+  }
+
   public @NotNull List<SetupInfo> getSetupFavoriteSetups(
       final @NotNull String userId, final @NotNull Pageable pageable) {
     return this.setupService.getSetupFavoriteSetups(this.findUserById(userId), pageable);
   }
 
+  public @NotNull CursorPage<SetupInfo> getSetupFavoriteSetups(
+      final @NotNull String userId, final @NotNull String after, final int size) {
+    return this.setupService.getSetupFavoriteSetups(this.findUserById(userId), after, size);
+  }
+
   public void likeComment(
       final @NotNull String setupId,
       final @NotNull String commentId,
       final @NotNull String userId) {
     final var user = this.findUserById(userId);
-    final var comment = this.setupService.likeComment(setupId, user, commentId);
-
-    if (comment.getUser().getId().equals(user.getId())) {
-      return;
-    }
 
-    final var form =
-        NotificationForm.builder()
-            .to(comment.getUser().getId())
-            .title("New Comment Like")
-            .type(NotificationType.LIKE)
-            .description(
-                "%s liked your mentioned. Comment is: %s"
-                    .formatted(user.getUsername(), comment.getContent()))
-            .action(String.format("/%s/%s", "setups", setupId))
-            .build();
-
-    this.notificationService.createNotification(form, user.getId());
+    this.setupService.likeComment(setupId, user, commentId);
   }
 
-  public void unlikeComment(final @NotNull String commentId, final @NotNull String userId) {
+  public void unlikeComment(
+      final @NotNull String setupId,
+      final @NotNull String commentId,
+      final @NotNull String userId) {
     final var user = this.findUserById(userId);
 
-    this.setupService.unlikeComment(commentId, user);
+    this.setupService.unlikeComment(setupId, user, commentId);
   }
 }
@@ -0,0 +1,179 @@
+package com.setupshowroom.setup;
+
+import com.setupshowroom.setup.dto.SetupEngagementInfo;
+import com.setupshowroom.setup.dto.SetupInfo;
+import com.setupshowroom.shared.pagination.CursorPage;
+import com.setupshowroom.shared.web.ETags;
+import com.setupshowroom.tag.Tag;
+import com.setupshowroom.user.converter.UserConverter;
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SetupInfoHydrator {
+  private final @NotNull SetupRepository setupRepository;
+  private final @NotNull SetupCounterService setupCounterService;
+  private final @NotNull UserConverter userConverter;
+  private final @NotNull SetupCache setupCache;
+  private final @NotNull EngagementMembershipCache engagementMembershipCache;
+
+  public @NotNull List<SetupInfo> hydrate(
+      final @NotNull List<Setup> setups, final @NotNull String viewerId) {
+    if (setups.isEmpty()) {
+      return List.of();
+    }
+
+    final Map<String, SetupInfo> skeletons = this.buildSkeletons(setups);
+
+    return this.overlay(
+        setups.stream().map(setup -> skeletons.get(setup.getId())).toList(), viewerId);
+  }
+
+  public @NotNull List<SetupInfo> hydrateCached(
+      final @NotNull List<String> setupIds, final @NotNull String viewerId) {
+    if (setupIds.isEmpty()) {
+      return List.of();
+    }
+
+    final Map<String, SetupInfo> skeletons =
+        this.setupCache.skeletons(
+            setupIds,
+            missing ->
+                this.buildSkeletons(
+                    this.setupRepository.findAllByIdInAndDeletedFalse(List.copyOf(missing))));
+
+    return this.overlay(
+        setupIds.stream().map(skeletons::get).filter(Objects::nonNull).toList(), viewerId);
+  }
+
+  public @NotNull List<SetupEngagementInfo> engagement(
+      final @NotNull List<String> setupIds, final @NotNull String viewerId) {
+    final List<String> requestedIds = setupIds.stream().distinct().toList();
+    final Set<String> existingIds =
+        Set.copyOf(this.setupRepository.findAllIdsByIdInAndDeletedFalse(requestedIds));
+    final List<String> liveIds = requestedIds.stream().filter(existingIds::contains).toList();
+
+    if (liveIds.isEmpty()) {
+      return List.of();
+    }
+
+    final Map<String, SetupCounts> counts = this.setupCounterService.findCounts(liveIds);
+    final EngagementMembership membership =
+        this.engagementMembershipCache.get(viewerId, liveIds);
+
+    return liveIds.stream()
+        .map(
+            setupId ->
+                SetupEngagementInfo.builder()
+                    .id(setupId)
+                    .likes(counts.getOrDefault(setupId, SetupCounts.ZERO).likes())
+                    .commentSize(counts.getOrDefault(setupId, SetupCounts.ZERO).comments())
+                    .isLiked(membership.isLiked(setupId))
+                    .isFavorite(membership.isFavorite(setupId))
+                    .build())
+        .toList();
+  }
+
+  public @NotNull Optional<String> version(
+      final @NotNull CursorPage<String> page, final @NotNull String viewerId) {
+    final Map<String, SetupVersionRow> versions =
+        this.setupRepository.findAllVersionsByIdIn(page.items()).stream()
+            .collect(Collectors.toMap(SetupVersionRow::getId, Function.identity()));
+
+    if (versions.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final Map<String, SetupCounts> counts = this.setupCounterService.findCounts(versions.keySet());
+    final EngagementMembership membership =
+        this.engagementMembershipCache.get(viewerId, versions.keySet());
+
+    final List<String> parts = new ArrayList<>();
+    parts.add(viewerId);
+    parts.add(String.valueOf(page.nextCursor()));
+
+    for (final String setupId : page.items()) {
+      final SetupVersionRow row = versions.get(setupId);
+
+      if (row == null) {
+        continue;
+      }
+
+      final SetupCounts setupCounts = counts.getOrDefault(setupId, SetupCounts.ZERO);
+      parts.add(
+          String.join(
+              ":",
+              setupId,
+              String.valueOf(row.getUpdatedAt()),
+              String.valueOf(row.getOwnerUpdatedAt()),
+              String.valueOf(setupCounts.likes()),
+              String.valueOf(setupCounts.comments()),
+              String.valueOf(membership.isLiked(setupId)),
+              String.valueOf(membership.isFavorite(setupId))));
+    }
+
+    return Optional.of(ETags.of(parts));
+  }
+
+  private @NotNull List<SetupInfo> overlay(
+      final @NotNull List<SetupInfo> skeletons, final @NotNull String viewerId) {
+    if (skeletons.isEmpty()) {
+      return List.of();
+    }
+
+    final EngagementMembership membership =
+        this.engagementMembershipCache.get(
+            viewerId, skeletons.stream().map(SetupInfo::getId).toList());
+
+    return skeletons.stream()
+        .map(
+            skeleton ->
+                skeleton.toBuilder()
+                    .isLiked(membership.isLiked(skeleton.getId()))
+                    .isFavorite(membership.isFavorite(skeleton.getId()))
+                    .build())
+        .toList();
+  }
+
+  private @NotNull Map<String, SetupInfo> buildSkeletons(final @NotNull List<Setup> setups) {
+    if (setups.isEmpty()) {
+      return Map.of();
+    }
+
+    final List<String> setupIds = setups.stream().map(Setup::getId).toList();
+
+    final Map<String, SetupCounts> counts = this.setupCounterService.findCounts(setupIds);
+
+    return setups.stream()
+        .collect(
+            Collectors.toMap(
+                Setup::getId,
+                setup ->
+                    SetupInfo.builder()
+                        .id(setup.getId())
+                        .description(setup.getDescription())
+                        .userInfo(this.userConverter.toUserInfo(setup.getUser()))
+                        .createdAt(setup.getEmbeddedTimestamps().getCreatedAt())
+                        .title(setup.getTitle())
+                        .categories(
+                            setup.getCategories().stream().map(SetupCategory::name).toList())
+                        .images(List.copyOf(setup.getImages()))
+                        .videos(List.copyOf(setup.getVideos()))
+                        .tags(setup.getTags().stream().map(Tag::getName).toList())
+                        .likes(counts.getOrDefault(setup.getId(), SetupCounts.ZERO).likes())
+                        .commentSize(
+                            counts.getOrDefault(setup.getId(), SetupCounts.ZERO).comments())
+                        .build(),
+                (first, second) -> first));
+  }
+}
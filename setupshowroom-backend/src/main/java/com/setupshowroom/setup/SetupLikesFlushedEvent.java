@@ -0,0 +1,7 @@
+package com.setupshowroom.setup;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+// Published after a counter flush has written like deltas, so readers see the new counts.
+record SetupLikesFlushedEvent(@NotNull List<String> setupIds) {}
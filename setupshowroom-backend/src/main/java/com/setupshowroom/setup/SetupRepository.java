@@ -1,26 +1,74 @@
 package com.setupshowroom.setup;
 
 import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface SetupRepository extends JpaRepository<Setup, String> {
   @Query(
       """
-    select s from Setup s
-    left join fetch s.user
+    select s.id from Setup s
     where s.deleted = false
     and s.user.deleted = false
     and s.user.id = :userId
     """)
   @NotNull
-  Page<Setup> findAllByUserIdAndDeletedFalse(String userId, Pageable pageable);
+  List<String> findAllIdsByUserIdAndDeletedFalse(String userId, Pageable pageable);
+
+  boolean existsByIdAndDeletedFalse(@NotNull String id);
+
+  @Query(
+      """
+    select s.user.id from Setup s
+    where s.deleted = false
+    and s.id = :setupId
+    """)
+  @NotNull
+  Optional<String> findOwnerIdById(@NotNull String setupId);
+
+  @Query(
+      """
+      SELECT s
+      FROM Setup s
+      left join fetch s.user
+      WHERE s.deleted = false
+      ORDER BY s.engagementScore DESC, s.id DESC
+      """)
+  @NotNull
+  List<Setup> exploreSetups(Pageable pageable);
+
+  @Query(
+      """
+      SELECT s
+      FROM Setup s
+      left join fetch s.user
+      WHERE s.deleted = false
+      AND (s.engagementScore, s.id) < (:engagementScore, :setupId)
+      ORDER BY s.engagementScore DESC, s.id DESC
+      """)
+  @NotNull
+  List<Setup> exploreSetupsAfter(
+      long engagementScore, @NotNull String setupId, @NotNull Pageable pageable);
+
+  @Query(
+      """
+      SELECT s
+      FROM Setup s
+      left join fetch s.user
+      WHERE s.deleted = false
+      ORDER BY s.trendingScore DESC, s.id DESC
+      """)
+  @NotNull
+  List<Setup> exploreTrendingSetups(Pageable pageable);
 
   @Query(
       """
@@ -28,12 +76,12 @@ public interface SetupRepository extends JpaRepository<Setup, String> {
       FROM Setup s
       left join fetch s.user
       WHERE s.deleted = false
-      ORDER BY (SIZE(s.likes) + SIZE(s.comments) + SIZE(s.favorites)) DESC,
-               s.embeddedTimestamps.updatedAt DESC,
-               s.embeddedTimestamps.createdAt DESC
+      AND (s.trendingScore, s.id) < (:trendingScore, :setupId)
+      ORDER BY s.trendingScore DESC, s.id DESC
       """)
   @NotNull
-  Page<Setup> exploreSetups(Pageable pageable);
+  List<Setup> exploreTrendingSetupsAfter(
+      double trendingScore, @NotNull String setupId, @NotNull Pageable pageable);
 
   @Query(
       """
@@ -41,12 +89,32 @@ public interface SetupRepository extends JpaRepository<Setup, String> {
       FROM Setup s
       join fetch s.user
       WHERE s.deleted = false
-      ORDER BY (SIZE(s.likes) + SIZE(s.comments) + SIZE(s.favorites)) DESC,
-               s.embeddedTimestamps.updatedAt DESC,
-               s.embeddedTimestamps.createdAt DESC
+      AND s.id in :setupIds
+      """)
+  @NotNull
+  List<Setup> findAllByIdInAndDeletedFalse(@NotNull Collection<String> setupIds);
+
+  @Query(
+      """
+      SELECT s.id
+      FROM Setup s
+      WHERE s.deleted = false
+      AND s.id in :setupIds
+      """)
+  @NotNull
+  List<String> findAllIdsByIdInAndDeletedFalse(@NotNull Collection<String> setupIds);
+
+  @Query(
+      """
+      SELECT s.id as id,
+        s.embeddedTimestamps.updatedAt as updatedAt,
+        s.user.embeddedTimestamps.updatedAt as ownerUpdatedAt
+      FROM Setup s
+      WHERE s.deleted = false
+      AND s.id in :setupIds
       """)
   @NotNull
-  Page<Setup> feedSetups(Pageable pageable);
+  List<SetupVersionRow> findAllVersionsByIdIn(@NotNull Collection<String> setupIds);
 
   @Query(
       """
@@ -57,11 +125,27 @@ public interface SetupRepository extends JpaRepository<Setup, String> {
       WHERE s.deleted = false
       AND f.user.id = :userId
       AND f.deleted = false
-      ORDER BY s.embeddedTimestamps.createdAt DESC
+      ORDER BY s.id DESC
       """)
   @NotNull
   List<Setup> findAllFavoritesByUserId(String userId, @NotNull Pageable pageable);
 
+  @Query(
+      """
+      SELECT s
+      FROM Setup s
+      JOIN s.favorites f
+      left join fetch s.user
+      WHERE s.deleted = false
+      AND f.user.id = :userId
+      AND f.deleted = false
+      AND s.id < :setupId
+      ORDER BY s.id DESC
+      """)
+  @NotNull
+  List<Setup> findAllFavoritesByUserIdAfter(
+      String userId, @NotNull String setupId, @NotNull Pageable pageable);
+
   @Query(
       """
     select s from Setup s
@@ -71,4 +155,85 @@ public interface SetupRepository extends JpaRepository<Setup, String> {
     and s.id = :setupId
     """)
   Optional<Setup> findSetupById(@NotNull String setupId);
+
+  @Query(
+      value =
+          """
+      with search as (
+        select websearch_to_tsquery('simple', :query) as q
+      ),
+      matches as materialized (
+        select s.id, cast(ts_rank_cd(s.search_vector, search.q) as float8) as rank
+        from setup s, search
+        where s.deleted = false
+        and s.search_vector @@ search.q
+      ),
+      candidates as (
+        select m.id
+        from matches m
+        order by m.rank desc, m.id desc
+        limit :candidateLimit
+      ),
+      page as (
+        select m.id, m.rank
+        from matches m
+        where (m.rank, m.id) < (:afterRank, :afterId)
+        order by m.rank desc, m.id desc
+        limit :size
+      )
+      select 'HIT' as kind, p.id as key, p.rank as rank, cast(0 as bigint) as total
+      from page p
+      union all
+      select 'CATEGORY', sc.categories, cast(null as float8), count(*)
+      from candidates c
+      join setup_categories sc on sc.setup_id = c.id
+      group by sc.categories
+      union all
+      select *
+      from (
+        select 'TAG', t.name, cast(null as float8), count(*) as total
+        from candidates c
+        join setup_tag st on st.setup_id = c.id
+        join tag t on t.id = st.tag_id
+        group by t.name
+        order by total desc, t.name
+        limit :tagLimit
+      ) tags
+      """,
+      nativeQuery = true)
+  @NotNull
+  List<SetupSearchRow> searchSetups(
+      @NotNull String query,
+      double afterRank,
+      @NotNull String afterId,
+      int size,
+      int candidateLimit,
+      int tagLimit);
+
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          """
+      with previous as (
+        select exp(-:decayRate * extract(epoch from (:now - t.started_at))) as factor
+        from trending_epoch t
+        where t.id = 1
+        for update
+      ),
+      scaled as (
+        update setup s
+        set trending_score = case
+          when s.trending_score * previous.factor < :floor then 0
+          else s.trending_score * previous.factor
+        end
+        from previous
+        where s.trending_score > 0
+      )
+      update trending_epoch
+      set started_at = :now
+      where id = 1
+      """,
+      nativeQuery = true)
+  void renormalizeTrendingScores(double decayRate, double floor, @NotNull Instant now);
 }
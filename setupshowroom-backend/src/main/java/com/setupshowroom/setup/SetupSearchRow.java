@@ -0,0 +1,11 @@
+package com.setupshowroom.setup;
+
+public interface SetupSearchRow {
+  String getKind();
+
+  String getKey();
+
+  Double getRank();
+
+  Long getTotal();
+}
@@ -0,0 +1,105 @@
+package com.setupshowroom.setup;
+
+import com.setupshowroom.setup.dto.SetupInfo;
+import com.setupshowroom.setup.dto.SetupSearchResult;
+import com.setupshowroom.shared.pagination.CursorCodec;
+import com.setupshowroom.user.User;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ValidationException;
+import jakarta.validation.constraints.NotNull;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SetupSearchService {
+  private static final int MAX_QUERY_LENGTH = 200;
+  // Hits page through every match in rank order; facets summarize the best-ranked candidates.
+  private static final int CANDIDATE_LIMIT = 1_000;
+  private static final int TAG_FACET_LIMIT = 20;
+
+  private final @NotNull SetupRepository setupRepository;
+  private final @NotNull SetupInfoHydrator setupInfoHydrator;
+
+  public @NotNull SetupSearchResult search(
+      final @NotNull User user,
+      final @NotNull String query,
+      final @NotNull String after,
+      final int size) {
+    final String normalizedQuery = query.strip();
+
+    if (normalizedQuery.isEmpty() || normalizedQuery.length() > MAX_QUERY_LENGTH) {
+      throw new ValidationException("invalidSearchQuery");
+    }
+
+    final SearchCursor cursor =
+        after.isEmpty() ? SearchCursor.FIRST : SearchCursor.decode(after);
+
+    final List<SetupSearchRow> rows =
+        this.setupRepository.searchSetups(
+            normalizedQuery, cursor.rank(), cursor.id(), size, CANDIDATE_LIMIT, TAG_FACET_LIMIT);
+
+    final List<SetupSearchRow> hits =
+        rows.stream()
+            .filter(row -> "HIT".equals(row.getKind()))
+            .sorted(
+                Comparator.comparing(SetupSearchRow::getRank)
+                    .thenComparing(SetupSearchRow::getKey)
+                    .reversed())
+            .toList();
+
+    final List<SetupInfo> setups =
+        this.setupInfoHydrator.hydrateCached(
+            hits.stream().map(SetupSearchRow::getKey).toList(), user.getId());
+
+    final String nextCursor =
+        hits.size() < size
+            ? null
+            : new SearchCursor(hits.getLast().getRank(), hits.getLast().getKey()).encode();
+
+    return SetupSearchResult.builder()
+        .setups(setups)
+        .categories(toFacet(rows, "CATEGORY"))
+        .tags(toFacet(rows, "TAG"))
+        .nextCursor(nextCursor)
+        .build();
+  }
+
+  private static @NotNull Map<String, Long> toFacet(
+      final @NotNull List<SetupSearchRow> rows, final @NotNull String kind) {
+    final Map<String, Long> facet = new LinkedHashMap<>();
+
+    rows.stream()
+        .filter(row -> kind.equals(row.getKind()))
+        .sorted(Comparator.comparing(SetupSearchRow::getTotal).reversed())
+        .forEach(row -> facet.put(row.getKey(), row.getTotal()));
+
+    return facet;
+  }
+
+  private record SearchCursor(double rank, @NotNull String id) {
+    private static final SearchCursor FIRST = new SearchCursor(Double.POSITIVE_INFINITY, "");
+
+    static @NotNull SearchCursor decode(final @NotNull String cursor) {
+      final String[] parts = CursorCodec.decode(cursor, 2);
+
+      try {
+        return new SearchCursor(Double.parseDouble(parts[0]), parts[1]);
+      } catch (final NumberFormatException e) {
+        throw new ValidationException("invalidCursor");
+      }
+    }
+
+    @NotNull
+    String encode() {
+      return CursorCodec.encode(String.valueOf(this.rank), this.id);
+    }
+  }
+}
@@ -2,35 +2,53 @@ package com.setupshowroom.setup;
 
 import com.github.f4b6a3.ulid.UlidCreator;
 import com.setupshowroom.comment.Comment;
-import com.setupshowroom.comment.CommentLike;
+import com.setupshowroom.comment.CommentCursor;
 import com.setupshowroom.comment.CommentLikeRepository;
 import com.setupshowroom.comment.CommentRepository;
+import com.setupshowroom.comment.CommentThreadRow;
+import com.setupshowroom.comment.CommentThreads;
 import com.setupshowroom.comment.dto.CommentForm;
 import com.setupshowroom.comment.dto.CommentInfo;
+import com.setupshowroom.comment.dto.CommentThreadInfo;
 import com.setupshowroom.setup.converter.SetupConverter;
 import com.setupshowroom.setup.dto.ProfileSetupForm;
+import com.setupshowroom.setup.dto.SetupEngagementInfo;
 import com.setupshowroom.setup.dto.SetupForm;
 import com.setupshowroom.setup.dto.SetupInfo;
 import com.setupshowroom.setup.dto.SetupUpdateForm;
+import com.setupshowroom.setup.event.CommentLikedEvent;
+import com.setupshowroom.setup.event.SetupChangedEvent;
+import com.setupshowroom.setup.event.SetupCommentEvent;
+import com.setupshowroom.setup.event.SetupCommentedEvent;
+import com.setupshowroom.setup.event.SetupCreatedEvent;
+import com.setupshowroom.setup.event.SetupEngagementEvent;
+import com.setupshowroom.setup.event.SetupEngagementEvent.Engagement;
+import com.setupshowroom.setup.event.SetupLikedEvent;
 import com.setupshowroom.shared.exceptionhandler.exception.AccessNotAllowedException;
 import com.setupshowroom.shared.exceptionhandler.exception.ItemNotFoundException;
 import com.setupshowroom.shared.model.EmbeddedTimestamps;
+import com.setupshowroom.shared.pagination.CursorCodec;
+import com.setupshowroom.shared.pagination.CursorPage;
 import com.setupshowroom.tag.Tag;
-import com.setupshowroom.tag.TagRepository;
+import com.setupshowroom.tag.TagService;
 import com.setupshowroom.user.FavoriteRepository;
 import com.setupshowroom.user.User;
 import com.setupshowroom.user.converter.UserConverter;
-import com.setupshowroom.user.dto.UserInfo;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ValidationException;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -44,17 +62,19 @@ public class SetupService {
   private final @NotNull CommentLikeRepository commentLikeRepository;
   private final @NotNull CommentRepository commentRepository;
   private final @NotNull FavoriteRepository favoriteRepository;
-  private final @NotNull TagRepository tagRepository;
+  private final @NotNull TagService tagService;
   private final @NotNull SetupConverter setupConverter;
   private final @NotNull UserConverter userConverter;
+  private final @NotNull SetupInfoHydrator setupInfoHydrator;
+  private final @NotNull SetupCache setupCache;
+  private final @NotNull ApplicationEventPublisher eventPublisher;
 
   public @NotNull SetupInfo createSetup(
       final @NotNull User user,
       final @NotNull SetupForm setupForm,
       final @NotNull List<String> images,
       final @NotNull List<String> videos) {
-    final var tags = setupForm.getTags().stream().map(this.setupConverter::toTag).toList();
-    final List<Tag> savedTags = this.tagRepository.saveAll(tags);
+    final List<Tag> savedTags = this.tagService.resolveTags(setupForm.getTags());
 
     final Setup setup = this.setupConverter.toSetup(setupForm);
     setup.setId(setupForm.getSetupId());
@@ -64,16 +84,16 @@ public class SetupService {
     setup.setUser(user);
 
     final var savedUser = this.setupRepository.save(setup);
+    this.eventPublisher.publishEvent(new SetupCreatedEvent(savedUser.getId(), user.getId()));
 
-    return this.toSetupInfo(user, savedUser, user);
+    return this.toSetupInfo(savedUser, user);
   }
 
   public @NotNull SetupInfo createSetup(
       final @NotNull User user,
       final @NotNull ProfileSetupForm setupForm,
       final @NotNull SortedSet<String> images) {
-    final var tags = setupForm.getTags().stream().map(this.setupConverter::toTag).toList();
-    final List<Tag> savedTags = this.tagRepository.saveAll(tags);
+    final List<Tag> savedTags = this.tagService.resolveTags(setupForm.getTags());
 
     final Setup setup = new Setup();
     setup.setTitle(setupForm.getTitle());
@@ -88,8 +108,9 @@ public class SetupService {
             .collect(Collectors.toCollection(TreeSet::new)));
 
     final var savedUser = this.setupRepository.save(setup);
+    this.eventPublisher.publishEvent(new SetupCreatedEvent(savedUser.getId(), user.getId()));
 
-    return this.toSetupInfo(user, savedUser, user);
+    return this.toSetupInfo(savedUser, user);
   }
 
   public void deleteSetupById(final @NotNull User user, final @NotNull String setupId) {
@@ -106,13 +127,23 @@ public class SetupService {
     setup.getEmbeddedTimestamps().setDeletedAt(Instant.now());
 
     this.setupRepository.save(setup);
+    this.publishChange(setupId, SetupChangedEvent.Change.DELETED);
   }
 
-  public @NotNull List<SetupInfo> findAllSetupsByUser(
+  public @NotNull CursorPage<String> findSetupIdsByUser(
       final @NotNull User user, final @NotNull Pageable pageable) {
-    return this.setupRepository.findAllByUserIdAndDeletedFalse(user.getId(), pageable).stream()
-        .map(s -> this.toSetupInfo(s.getUser(), s, user))
-        .toList();
+    return new CursorPage<>(
+        this.setupRepository.findAllIdsByUserIdAndDeletedFalse(user.getId(), pageable), null);
+  }
+
+  public @NotNull List<SetupInfo> hydrateSetups(
+      final @NotNull User user, final @NotNull List<String> setupIds) {
+    return this.setupInfoHydrator.hydrateCached(setupIds, user.getId());
+  }
+
+  public @NotNull Optional<String> findSetupsVersion(
+      final @NotNull String userId, final @NotNull CursorPage<String> page) {
+    return this.setupInfoHydrator.version(page, userId);
   }
 
   public @NotNull SetupInfo findSetupById(final @NotNull User user, final @NotNull String setupId) {
@@ -121,39 +152,41 @@ public class SetupService {
             .findSetupById(setupId)
             .orElseThrow(() -> new ItemNotFoundException("setupNotFound"));
 
-    return this.toSetupInfo(setup.getUser(), setup, user);
+    return this.toSetupInfo(setup, user);
   }
 
-  public void addToFavorite(final @NotNull String setupId, final @NotNull User user) {
-    final Setup setup =
-        this.setupRepository
-            .findById(setupId)
-            .orElseThrow(() -> new ItemNotFoundException("setupNotFound"));
-
-    final boolean isExist =
-        this.favoriteRepository.existsByUserIdAndSetupIdAndDeletedFalse(
-            user.getId(), setup.getId());
+  public @NotNull List<SetupEngagementInfo> findEngagement(
+      final @NotNull User user, final @NotNull List<String> setupIds) {
+    return this.setupInfoHydrator.engagement(setupIds, user.getId());
+  }
 
-    if (!isExist) {
-      final Favorite favorite =
-          Favorite.builder().id(UlidCreator.getUlid().toString()).user(user).setup(setup).build();
+  public boolean addToFavorite(final @NotNull String setupId, final @NotNull User user) {
+    final Instant now = Instant.now();
+    final int inserted =
+        this.favoriteRepository.insertFavorite(
+            UlidCreator.getUlid().toString(), user.getId(), setupId, now);
 
-      this.favoriteRepository.save(favorite);
+    if (inserted == 0) {
+      this.requireSetup(setupId);
+      return false;
     }
-  }
 
-  public void removeFromFavorite(final @NotNull String setupId, final @NotNull User user) {
-    final Setup setup =
-        this.setupRepository
-            .findById(setupId)
-            .orElseThrow(() -> new ItemNotFoundException("setupNotFound"));
+    this.recordEngagement(setupId, user, Engagement.FAVORITE, 1, now);
+    return true;
+  }
 
-    final Favorite favorite =
-        this.favoriteRepository
-            .findByUserIdAndSetupIdAndDeletedFalse(user.getId(), setup.getId())
-            .orElseThrow(() -> new ItemNotFoundException("favoriteNotFound"));
+  // Removing a favorite that is already gone is a no-op, so a repeated click does not fail;
+  // only a missing setup is reported.
+  public boolean removeFromFavorite(final @NotNull String setupId, final @NotNull User user) {
+    final Optional<Instant> favoritedAt =
+        this.favoriteRepository.deleteFavorite(user.getId(), setupId);
+    if (favoritedAt.isEmpty()) {
+      this.requireSetup(setupId);
+      return false;
+    }
 
-    this.favoriteRepository.delete(favorite);
+    this.recordEngagement(setupId, user, Engagement.FAVORITE, -1, favoritedAt.get());
+    return true;
   }
 
   public @NotNull SetupInfo updateSetup(
@@ -180,74 +213,179 @@ public class SetupService {
             .map(SetupCategory::valueOf)
             .collect(Collectors.toCollection(TreeSet::new)));
 
-    final var tags = setupForm.getTags().stream().map(this.setupConverter::toTag).toList();
-
-    final List<Tag> savedTags = this.tagRepository.saveAll(tags);
+    final List<Tag> savedTags = this.tagService.resolveTags(setupForm.getTags());
     setup.setTags(new TreeSet<>(savedTags));
+    // @UpdateTimestamp only fires when a column of the setup row changes; an edit touching
+    // only tags, images, videos or categories must still move the version clients cache by.
+    setup.getEmbeddedTimestamps().setUpdatedAt(Instant.now());
 
-    final Setup savedSetup = this.setupRepository.save(setup);
+    // The setup is managed and flushes on commit; a merge would swap the detached tag rows for
+    // proxies and load them again.
+    this.publishChange(setupId, SetupChangedEvent.Change.UPDATED);
 
-    return this.toSetupInfo(savedSetup.getUser(), savedSetup, user);
+    return this.toSetupInfo(setup, user);
   }
 
-  public @NotNull Setup like(final @NotNull String setupId, final @NotNull User user) {
-    final Setup setup =
-        this.setupRepository
-            .findById(setupId)
-            .orElseThrow(() -> new ItemNotFoundException("setupNotFound"));
+  public boolean like(final @NotNull String setupId, final @NotNull User user) {
+    final Instant now = Instant.now();
+    final int inserted =
+        this.likeRepository.insertLike(
+            UlidCreator.getUlid().toString(), user.getId(), setupId, now);
 
-    final Optional<Like> existLike =
-        this.likeRepository.findByUserIdAndSetupIdAndDeletedFalse(user.getId(), setup.getId());
+    if (inserted == 0) {
+      this.requireSetup(setupId);
+      return false;
+    }
+
+    this.recordEngagement(setupId, user, Engagement.LIKE, 1, now);
 
-    if (existLike.isEmpty()) {
-      final Like like =
-          Like.builder().id(UlidCreator.getUlid().toString()).user(user).setup(setup).build();
+    final String ownerId = this.findSetupOwnerId(setupId);
+    if (!ownerId.equals(user.getId())) {
+      this.eventPublisher.publishEvent(
+          new SetupLikedEvent(setupId, ownerId, user.getId(), user.getUsername()));
+    }
+    return true;
+  }
 
-      this.likeRepository.save(like);
+  public boolean unlike(final @NotNull String setupId, final @NotNull User user) {
+    final Optional<Instant> likedAt = this.likeRepository.deleteLike(user.getId(), setupId);
+    if (likedAt.isEmpty()) {
+      this.requireSetup(setupId);
+      return false;
     }
 
-    return setup;
+    this.recordEngagement(setupId, user, Engagement.LIKE, -1, likedAt.get());
+    return true;
   }
 
-  public void unlike(final @NotNull String setupId, final @NotNull User user) {
-    final Setup setup =
-        this.setupRepository
-            .findById(setupId)
-            .orElseThrow(() -> new ItemNotFoundException("setupNotFound"));
+  public CommentInfo addComment(
+      final @NotNull String setupId,
+      final @NotNull User user,
+      final @NotNull CommentForm commentForm) {
+    final Instant now = Instant.now();
+    final Comment comment =
+        Comment.builder()
+            .id(UlidCreator.getUlid().toString())
+            .user(user)
+            .content(commentForm.getContent())
+            .embeddedTimestamps(new EmbeddedTimestamps(now, now, null))
+            .build();
+
+    final int inserted =
+        this.commentRepository.insertRootComment(
+            comment.getId(), setupId, user.getId(), comment.getContent(), now);
+    if (inserted == 0) {
+      throw new ItemNotFoundException("setupNotFound");
+    }
 
-    final Like like =
-        this.likeRepository
-            .findByUserIdAndSetupIdAndDeletedFalse(user.getId(), setup.getId())
-            .orElseThrow(() -> new ItemNotFoundException("likeNotFound"));
+    this.recordEngagement(setupId, user, Engagement.COMMENT, 1, now);
 
-    this.likeRepository.delete(like);
+    final String ownerId = this.findSetupOwnerId(setupId);
+    if (!ownerId.equals(user.getId())) {
+      this.eventPublisher.publishEvent(
+          new SetupCommentedEvent(
+              setupId, comment.getId(), ownerId, user.getId(), user.getUsername()));
+    }
+
+    final CommentInfo commentInfo =
+        this.setupConverter.toCommentInfo(comment, this.userConverter.toUserInfo(user));
+    this.publishComment(setupId, commentInfo, SetupCommentEvent.Change.CREATED);
+    return commentInfo;
   }
 
-  public CommentInfo addComment(
+  public @NotNull CommentInfo addReply(
       final @NotNull String setupId,
+      final @NotNull String parentId,
       final @NotNull User user,
       final @NotNull CommentForm commentForm) {
-    final Setup setup =
-        this.setupRepository
-            .findById(setupId)
-            .orElseThrow(() -> new ItemNotFoundException("setupNotFound"));
+    final Comment parent =
+        this.commentRepository
+            .findByIdAndSetupIdAndDeletedFalse(parentId, setupId)
+            .orElseThrow(() -> new ItemNotFoundException("commentNotFound"));
 
-    final Comment comment =
+    if (parent.getDepth() >= Comment.MAX_DEPTH) {
+      throw new ValidationException("maxCommentDepthExceeded");
+    }
+
+    final Comment reply =
         Comment.builder()
             .id(UlidCreator.getUlid().toString())
             .user(user)
-            .setup(setup)
+            .setup(parent.getSetup())
+            .parent(parent)
             .content(commentForm.getContent())
             .build();
 
-    comment.setEmbeddedTimestamps(new EmbeddedTimestamps());
-    comment.getEmbeddedTimestamps().setCreatedAt(Instant.now());
+    reply.setEmbeddedTimestamps(new EmbeddedTimestamps());
+    reply.getEmbeddedTimestamps().setCreatedAt(Instant.now());
 
-    setup.addComment(comment);
+    this.commentRepository.save(reply);
+    this.recordEngagement(
+        setupId, user, Engagement.COMMENT, 1, reply.getEmbeddedTimestamps().getCreatedAt());
 
-    this.setupRepository.save(setup);
+    final CommentInfo commentInfo =
+        this.setupConverter.toCommentInfo(reply, this.userConverter.toUserInfo(user));
+    this.publishComment(setupId, commentInfo, SetupCommentEvent.Change.CREATED);
+    return commentInfo;
+  }
 
-    return this.setupConverter.toCommentInfo(comment, this.userConverter.toUserInfo(user));
+  public @NotNull CursorPage<CommentThreadInfo> getCommentThreads(
+      final @NotNull String setupId,
+      final @NotNull User user,
+      final @NotNull String after,
+      final int size,
+      final int replyLimit) {
+    final boolean first = after.isEmpty();
+    final CommentCursor cursor =
+        first ? new CommentCursor(Instant.EPOCH, "") : CommentCursor.decode(after);
+
+    final List<CommentThreadRow> rows =
+        this.commentRepository.findThreads(
+            setupId, first, cursor.createdAt(), cursor.id(), size, replyLimit);
+    final List<CommentThreadInfo> threads =
+        CommentThreads.toThreads(rows, this.findLikedCommentIds(user, rows));
+    final String nextCursor =
+        threads.size() < size ? null : CommentCursor.of(threads.getLast().getComment()).encode();
+
+    return new CursorPage<>(threads, nextCursor);
+  }
+
+  public @NotNull CursorPage<CommentThreadInfo> getReplies(
+      final @NotNull String setupId,
+      final @NotNull String commentId,
+      final @NotNull User user,
+      final @NotNull String after,
+      final int size) {
+    final Comment parent =
+        this.commentRepository
+            .findByIdAndSetupIdAndDeletedFalse(commentId, setupId)
+            .orElseThrow(() -> new ItemNotFoundException("commentNotFound"));
+
+    final String subtree = parent.getPath() + Comment.PATH_SEPARATOR;
+    final String afterPath = after.isEmpty() ? subtree : CursorCodec.decode(after, 1)[0];
+
+    if (!afterPath.startsWith(subtree)) {
+      throw new ValidationException("invalidCursor");
+    }
+
+    final List<CommentThreadRow> rows =
+        this.commentRepository.findReplies(setupId, parent.getPath(), afterPath, size);
+    final Set<String> likedIds = this.findLikedCommentIds(user, rows);
+    final String nextCursor = rows.size() < size ? null : CommentThreads.cursorOf(rows);
+
+    return new CursorPage<>(
+        rows.stream().map(row -> CommentThreads.toInfo(row, likedIds)).toList(), nextCursor);
+  }
+
+  private @NotNull Set<String> findLikedCommentIds(
+      final @NotNull User user, final @NotNull List<CommentThreadRow> rows) {
+    if (rows.isEmpty()) {
+      return Set.of();
+    }
+
+    return Set.copyOf(
+        this.commentLikeRepository.findLikedCommentIds(
+            user.getId(), rows.stream().map(CommentThreadRow::getId).toList()));
   }
 
   public void deleteComment(
@@ -266,6 +404,14 @@ public class SetupService {
     comment.getEmbeddedTimestamps().setDeletedAt(Instant.now());
 
     this.commentRepository.save(comment);
+    this.recordEngagement(
+        setup.getId(),
+        user,
+        Engagement.COMMENT,
+        -1,
+        comment.getEmbeddedTimestamps().getCreatedAt());
+    this.eventPublisher.publishEvent(
+        new SetupCommentEvent(setup.getId(), commentId, SetupCommentEvent.Change.DELETED));
   }
 
   public CommentInfo editComment(
@@ -287,27 +433,75 @@ public class SetupService {
 
     final var editedComment = this.commentRepository.save(comment);
 
-    return this.setupConverter.toCommentInfo(editedComment, this.userConverter.toUserInfo(user));
+    final CommentInfo commentInfo =
+        this.setupConverter.toCommentInfo(editedComment, this.userConverter.toUserInfo(user));
+    this.publishComment(setup.getId(), commentInfo, SetupCommentEvent.Change.UPDATED);
+    return commentInfo;
   }
 
-  public @NotNull List<SetupInfo> exploreSetups(
-      final @NotNull User authorizedUser, final @NotNull Pageable pageable) {
-    final var setups = this.setupRepository.exploreSetups(pageable);
+  public @NotNull CursorPage<String> exploreSetupIds(
+      final @NotNull ExploreRanking ranking, final @NotNull Pageable pageable) {
+    final var key = new ExplorePageKey(ranking, "", pageable.getOffset(), pageable.getPageSize());
+    return this.setupCache.explorePage(
+        key,
+        () ->
+            switch (ranking) {
+              case POPULAR ->
+                  toIdPage(
+                      this.setupRepository.exploreSetups(pageable),
+                      pageable.getPageSize(),
+                      s -> SetupCursor.of(s).encode());
+              case TRENDING ->
+                  toIdPage(
+                      this.setupRepository.exploreTrendingSetups(pageable),
+                      pageable.getPageSize(),
+                      s -> TrendingCursor.of(s).encode());
+            });
+  }
 
-    return setups.stream().map(s -> this.toSetupInfo(s.getUser(), s, authorizedUser)).toList();
+  public @NotNull List<CommentInfo> getComments(
+      final @NotNull String setupId, final @NotNull User user, final @NotNull Pageable pageable) {
+    return this.withLikedFlags(
+        user, this.commentRepository.findAllCommentInfoBySetupIdAndDeletedFalse(setupId, pageable));
   }
 
-  public @NotNull List<SetupInfo> feedSetups(
-      final @NotNull User authorizedUser, final @NotNull Pageable pageable) {
-    final var setups = this.setupRepository.feedSetups(pageable);
+  public @NotNull CursorPage<CommentInfo> getComments(
+      final @NotNull String setupId,
+      final @NotNull User user,
+      final @NotNull String after,
+      final int size) {
+    final var pageable = PageRequest.ofSize(size);
+    final List<CommentInfo> comments;
+
+    if (after.isEmpty()) {
+      comments =
+          this.commentRepository.findAllCommentInfoBySetupIdAndDeletedFalse(setupId, pageable);
+    } else {
+      final CommentCursor cursor = CommentCursor.decode(after);
+      comments =
+          this.commentRepository.findAllCommentInfoBySetupIdAndDeletedFalseAfter(
+              setupId, cursor.createdAt(), cursor.id(), pageable);
+    }
+
+    final String nextCursor =
+        comments.size() < size ? null : CommentCursor.of(comments.getLast()).encode();
 
-    return setups.stream().map(s -> this.toSetupInfo(s.getUser(), s, authorizedUser)).toList();
+    return new CursorPage<>(this.withLikedFlags(user, comments), nextCursor);
   }
 
-  public @NotNull List<CommentInfo> getComments(
-      final @NotNull String setupId, final @NotNull User user, final @NotNull Pageable pageable) {
-    return this.commentRepository.findAllCommentInfoBySetupIdAndDeletedFalse(
-        setupId, user.getId(), pageable);
+  private @NotNull List<CommentInfo> withLikedFlags(
+      final @NotNull User user, final @NotNull List<CommentInfo> comments) {
+    if (comments.isEmpty()) {
+      return comments;
+    }
+
+    final Set<String> likedIds =
+        Set.copyOf(
+            this.commentLikeRepository.findLikedCommentIds(
+                user.getId(), comments.stream().map(CommentInfo::getId).toList()));
+    comments.forEach(comment -> comment.setLiked(likedIds.contains(comment.getId())));
+
+    return comments;
   }
 
   public @NotNull List<SetupInfo> getSetupFavoriteSetups(
@@ -315,42 +509,106 @@ public class SetupService {
     final List<Setup> setups =
         this.setupRepository.findAllFavoritesByUserId(user.getId(), pageable);
 
-    return setups.stream().map(s -> this.toSetupInfo(s.getUser(), s, user)).toList();
+    return this.setupInfoHydrator.hydrate(setups, user.getId());
+  }
+
+  public @NotNull CursorPage<String> exploreSetupIds(
+      final @NotNull ExploreRanking ranking, final @NotNull String after, final int size) {
+    return this.setupCache.explorePage(
+        new ExplorePageKey(ranking, after, 0, size),
+        () ->
+            switch (ranking) {
+              case POPULAR ->
+                  toIdPage(
+                      this.findPopularPage(after, size), size, s -> SetupCursor.of(s).encode());
+              case TRENDING ->
+                  toIdPage(
+                      this.findTrendingPage(after, size),
+                      size,
+                      s -> TrendingCursor.of(s).encode());
+            });
+  }
+
+  public @NotNull CursorPage<SetupInfo> getSetupFavoriteSetups(
+      final @NotNull User user, final @NotNull String after, final int size) {
+    final var pageable = PageRequest.ofSize(size);
+    final List<Setup> setups =
+        after.isEmpty()
+            ? this.setupRepository.findAllFavoritesByUserId(user.getId(), pageable)
+            : this.setupRepository.findAllFavoritesByUserIdAfter(
+                user.getId(), CursorCodec.decode(after, 1)[0], pageable);
+
+    return this.toCursorPage(setups, size, user, s -> CursorCodec.encode(s.getId()));
+  }
+
+  private @NotNull List<Setup> findPopularPage(final @NotNull String after, final int size) {
+    final var pageable = PageRequest.ofSize(size);
+
+    if (after.isEmpty()) {
+      return this.setupRepository.exploreSetups(pageable);
+    }
+
+    final SetupCursor cursor = SetupCursor.decode(after);
+    return this.setupRepository.exploreSetupsAfter(cursor.score(), cursor.id(), pageable);
+  }
+
+  private @NotNull List<Setup> findTrendingPage(final @NotNull String after, final int size) {
+    final var pageable = PageRequest.ofSize(size);
+
+    if (after.isEmpty()) {
+      return this.setupRepository.exploreTrendingSetups(pageable);
+    }
+
+    final TrendingCursor cursor = TrendingCursor.decode(after);
+    return this.setupRepository.exploreTrendingSetupsAfter(cursor.score(), cursor.id(), pageable);
+  }
+
+  private static @NotNull CursorPage<String> toIdPage(
+      final @NotNull List<Setup> setups,
+      final int size,
+      final @NotNull Function<Setup, String> cursorOf) {
+    final String nextCursor = setups.size() < size ? null : cursorOf.apply(setups.getLast());
+
+    return new CursorPage<>(setups.stream().map(Setup::getId).toList(), nextCursor);
+  }
+
+  private @NotNull CursorPage<SetupInfo> toCursorPage(
+      final @NotNull List<Setup> setups,
+      final int size,
+      final @NotNull User authorizedUser,
+      final @NotNull Function<Setup, String> cursorOf) {
+    final var items = this.setupInfoHydrator.hydrate(setups, authorizedUser.getId());
+    final String nextCursor = setups.size() < size ? null : cursorOf.apply(setups.getLast());
+
+    return new CursorPage<>(items, nextCursor);
   }
 
   private @NotNull SetupInfo toSetupInfo(
-      final @NotNull User setupOwner,
-      final @NotNull Setup setup,
-      final @NotNull User authorizedUser) {
-    final UserInfo setupOwnerInfo = this.userConverter.toUserInfo(setupOwner);
-
-    final var commentSize = this.commentRepository.countBySetupIdAndDeletedFalse(setup.getId());
-
-    final var likeCount = this.likeRepository.countBySetupIdAndDeletedFalse(setup.getId());
-
-    final var isUserLiked =
-        this.likeRepository.existsByUserIdAndSetupIdAndDeletedFalse(
-            authorizedUser.getId(), setup.getId());
-
-    final var isFav =
-        this.favoriteRepository.existsByUserIdAndSetupIdAndDeletedFalse(
-            authorizedUser.getId(), setup.getId());
-
-    return SetupInfo.builder()
-        .id(setup.getId())
-        .description(setup.getDescription())
-        .userInfo(setupOwnerInfo)
-        .createdAt(setup.getEmbeddedTimestamps().getCreatedAt())
-        .title(setup.getTitle())
-        .categories(setup.getCategories().stream().map(SetupCategory::name).toList())
-        .images(List.copyOf(setup.getImages()))
-        .videos(List.copyOf(setup.getVideos()))
-        .tags(setup.getTags().stream().map(Tag::getName).toList())
-        .likes(likeCount)
-        .isLiked(isUserLiked)
-        .commentSize(commentSize)
-        .isFavorite(isFav)
-        .build();
+      final @NotNull Setup setup, final @NotNull User authorizedUser) {
+    return this.setupInfoHydrator.hydrate(List.of(setup), authorizedUser.getId()).getFirst();
+  }
+
+  private void recordEngagement(
+      final @NotNull String setupId,
+      final @NotNull User user,
+      final @NotNull Engagement engagement,
+      final int delta,
+      final @NotNull Instant occurredAt) {
+    this.eventPublisher.publishEvent(
+        new SetupEngagementEvent(setupId, user.getId(), engagement, delta, occurredAt));
+  }
+
+  private void publishComment(
+      final @NotNull String setupId,
+      final @NotNull CommentInfo commentInfo,
+      final @NotNull SetupCommentEvent.Change change) {
+    this.eventPublisher.publishEvent(
+        new SetupCommentEvent(setupId, commentInfo.getId(), change));
+  }
+
+  private void publishChange(
+      final @NotNull String setupId, final @NotNull SetupChangedEvent.Change change) {
+    this.eventPublisher.publishEvent(new SetupChangedEvent(setupId, change));
   }
 
   @SuppressWarnings("unused")
@@ -398,45 +656,56 @@ public class SetupService {
     this.setupRepository.delete(setup);
   }
 
-  public @NotNull UserInfo findSetupOwnerBySetupId(final @NotNull String setupId) {
-    final var owner =
-        this.setupRepository
-            .findSetupById(setupId)
-            .orElseThrow(() -> new ItemNotFoundException("setupNotFound"));
-
-    return this.userConverter.toUserInfo(owner.getUser());
+  public @NotNull String findSetupOwnerId(final @NotNull String setupId) {
+    return this.setupRepository
+        .findOwnerIdById(setupId)
+        .orElseThrow(() -> new ItemNotFoundException("setupNotFound"));
   }
 
-  public @NotNull Comment likeComment(
+  public boolean likeComment(
       final @NotNull String setupId, final @NotNull User user, final @NotNull String commentId) {
-    final Comment comment =
-        this.commentRepository
-            .findByIdAndSetupIdAndDeletedFalse(commentId, setupId)
-            .orElseThrow(() -> new ItemNotFoundException("commentNotFound"));
-
-    final Optional<CommentLike> existLike =
-        this.commentLikeRepository.findByUserIdAndCommentIdAndDeletedFalse(user.getId(), commentId);
+    final int inserted =
+        this.commentLikeRepository.insertCommentLike(
+            UlidCreator.getUlid().toString(), user.getId(), commentId, setupId, Instant.now());
+
+    if (inserted == 0) {
+      if (!this.commentRepository.existsByIdAndSetupIdAndDeletedFalse(commentId, setupId)) {
+        throw new ItemNotFoundException("commentNotFound");
+      }
+      return false;
+    }
 
-    if (existLike.isEmpty()) {
-      final CommentLike like =
-          CommentLike.builder()
-              .id(UlidCreator.getUlid().toString())
-              .user(user)
-              .comment(comment)
-              .build();
+    this.commentRepository
+        .findByIdAndSetupIdAndDeletedFalse(commentId, setupId)
+        .filter(comment -> !comment.getUser().getId().equals(user.getId()))
+        .ifPresent(
+            comment ->
+                this.eventPublisher.publishEvent(
+                    new CommentLikedEvent(
+                        setupId,
+                        commentId,
+                        comment.getUser().getId(),
+                        user.getId(),
+                        user.getUsername(),
+                        comment.getContent())));
+    return true;
+  }
 
-      this.commentLikeRepository.save(like);
+  public boolean unlikeComment(
+      final @NotNull String setupId, final @NotNull User user, final @NotNull String commentId) {
+    if (this.commentLikeRepository.deleteCommentLike(user.getId(), commentId) > 0) {
+      return true;
     }
 
-    return comment;
+    if (!this.commentRepository.existsByIdAndSetupIdAndDeletedFalse(commentId, setupId)) {
+      throw new ItemNotFoundException("commentNotFound");
+    }
+    return false;
   }
 
-  public void unlikeComment(final @NotNull String commentId, final @NotNull User user) {
-    final CommentLike like =
-        this.commentLikeRepository
-            .findByUserIdAndCommentIdAndDeletedFalse(user.getId(), commentId)
-            .orElseThrow(() -> new ItemNotFoundException("likeNotFound"));
-
-    this.commentLikeRepository.delete(like);
+  private void requireSetup(final @NotNull String setupId) {
+    if (!this.setupRepository.existsByIdAndDeletedFalse(setupId)) {
+      throw new ItemNotFoundException("setupNotFound");
+    }
   }
 }
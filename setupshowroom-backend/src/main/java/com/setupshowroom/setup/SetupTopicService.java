@@ -0,0 +1,368 @@
+package com.setupshowroom.setup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.setupshowroom.comment.CommentRepository;
+import com.setupshowroom.setup.dto.SetupLikesInfo;
+import com.setupshowroom.setup.event.SetupChangedEvent;
+import com.setupshowroom.setup.event.SetupCommentEvent;
+import com.setupshowroom.shared.cluster.ClusterBus;
+import com.setupshowroom.shared.exceptionhandler.exception.ItemNotFoundException;
+import com.setupshowroom.shared.exceptionhandler.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SetupTopicService {
+  private static final Duration EMITTER_TIMEOUT = Duration.ofMinutes(30);
+  private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(30);
+  private static final Duration LIKES_DEBOUNCE = Duration.ofMillis(500);
+  private static final int SUBSCRIBER_BUFFER = 64;
+  // The stream is public, so both bounds stop one client or one hot setup from holding an
+  // unbounded number of emitters. The per-setup bound is checked without a lock and is soft.
+  private static final int MAX_SUBSCRIPTIONS_PER_CLIENT = 16;
+  private static final int MAX_SUBSCRIBERS_PER_SETUP = 5_000;
+
+  // Other replicas are told what changed, never the content: NOTIFY payloads are capped at
+  // 8000 bytes, so comments are loaded by the nodes that have watchers and like notices are
+  // batches of setup ids kept well under the cap.
+  private static final String CHANNEL = "setup_topic_changed";
+  private static final String SEPARATOR = ":";
+  private static final String ID_SEPARATOR = ",";
+  private static final int MAX_PAYLOAD_CHARS = 7_000;
+
+  private static final String HEARTBEAT = "heartbeat";
+  private static final String COMMENT = "comment";
+  private static final String LIKES = "likes";
+  private static final String DELETED = "deleted";
+
+  private final @NotNull SetupRepository setupRepository;
+  private final @NotNull CommentRepository commentRepository;
+  private final @NotNull SetupCounterService setupCounterService;
+  private final @NotNull ClusterBus clusterBus;
+  private final @NotNull TaskScheduler taskScheduler;
+  private final @NotNull ObjectMapper objectMapper;
+
+  private final Map<String, Set<TopicSubscriber>> topics = new ConcurrentHashMap<>();
+  private final Map<String, Integer> clientSubscriptions = new ConcurrentHashMap<>();
+  private final Set<String> dirtyLikes = ConcurrentHashMap.newKeySet();
+  private final Map<String, Long> lastLikes = new ConcurrentHashMap<>();
+  private final ExecutorService senders =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("setup-topic-", 0).factory());
+
+  @PostConstruct
+  public void init() {
+    this.clusterBus.subscribe(CHANNEL, message -> this.onClusterMessage(message.payload()));
+    this.taskScheduler.scheduleWithFixedDelay(this::flushLikes, LIKES_DEBOUNCE);
+    this.taskScheduler.scheduleAtFixedRate(this::sendHeartbeat, HEARTBEAT_INTERVAL);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    this.topics.values().forEach(subscribers -> subscribers.forEach(TopicSubscriber::close));
+    this.topics.clear();
+    this.senders.close();
+  }
+
+  public @NotNull SseEmitter subscribe(
+      final @NotNull String setupId, final @NotNull String clientKey) {
+    if (!this.setupRepository.existsByIdAndDeletedFalse(setupId)) {
+      throw new ItemNotFoundException("setupNotFound");
+    }
+
+    final Set<TopicSubscriber> watching = this.topics.get(setupId);
+    if (watching != null && watching.size() >= MAX_SUBSCRIBERS_PER_SETUP) {
+      throw new TooManyRequestsException("tooManySubscriptions");
+    }
+
+    if (this.clientSubscriptions.merge(clientKey, 1, Integer::sum)
+        > MAX_SUBSCRIPTIONS_PER_CLIENT) {
+      this.release(clientKey);
+      throw new TooManyRequestsException("tooManySubscriptions");
+    }
+
+    final SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT.toMillis());
+    final TopicSubscriber subscriber = new TopicSubscriber(setupId, clientKey, emitter);
+
+    emitter.onTimeout(subscriber::close);
+    emitter.onCompletion(subscriber::close);
+    emitter.onError(ex -> subscriber.close());
+
+    this.topics.compute(
+        setupId,
+        (id, subscribers) -> {
+          final Set<TopicSubscriber> joined =
+              subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+          joined.add(subscriber);
+          return joined;
+        });
+    subscriber.offer("INIT", "INIT", "Connected!");
+    log.debug("Subscriber joined setup topic {}", setupId);
+
+    return emitter;
+  }
+
+  // NOTIFY is sent with the transaction that changed the comment, so replicas only hear about
+  // committed changes.
+  @EventListener
+  public void onComment(final @NotNull SetupCommentEvent event) {
+    this.clusterBus.publish(
+        CHANNEL,
+        String.join(
+            SEPARATOR, COMMENT, event.change().name(), event.setupId(), event.commentId()));
+  }
+
+  @EventListener
+  public void onLikesFlushed(final @NotNull SetupLikesFlushedEvent event) {
+    final StringBuilder setupIds = new StringBuilder();
+
+    try {
+      for (final String setupId : event.setupIds()) {
+        if (setupIds.length() + setupId.length() + 1 > MAX_PAYLOAD_CHARS) {
+          this.clusterBus.publish(CHANNEL, LIKES + SEPARATOR + setupIds);
+          setupIds.setLength(0);
+        }
+        if (!setupIds.isEmpty()) {
+          setupIds.append(ID_SEPARATOR);
+        }
+        setupIds.append(setupId);
+      }
+      this.clusterBus.publish(CHANNEL, LIKES + SEPARATOR + setupIds);
+    } catch (final Exception e) {
+      log.warn("Could not announce like count changes", e);
+    }
+  }
+
+  // Watchers of a deleted setup may be connected to any replica, so the deletion goes out on
+  // the bus like a comment change.
+  @EventListener
+  public void onSetupChanged(final @NotNull SetupChangedEvent event) {
+    if (event.change() == SetupChangedEvent.Change.DELETED) {
+      this.clusterBus.publish(CHANNEL, DELETED + SEPARATOR + event.setupId());
+    }
+  }
+
+  private void onClusterMessage(final @NotNull String payload) {
+    final String[] parts = payload.split(SEPARATOR);
+
+    if (parts.length == 4 && COMMENT.equals(parts[0])) {
+      this.deliverComment(SetupCommentEvent.Change.valueOf(parts[1]), parts[2], parts[3]);
+    } else if (parts.length == 2 && DELETED.equals(parts[0])) {
+      this.closeTopic(parts[1]);
+    } else if (parts.length == 2 && LIKES.equals(parts[0])) {
+      for (final String setupId : parts[1].split(ID_SEPARATOR)) {
+        if (this.topics.containsKey(setupId)) {
+          this.dirtyLikes.add(setupId);
+        }
+      }
+    } else {
+      log.warn("Ignoring malformed setup topic payload: {}", payload);
+    }
+  }
+
+  private void closeTopic(final @NotNull String setupId) {
+    final Set<TopicSubscriber> subscribers = this.topics.remove(setupId);
+    if (subscribers != null) {
+      subscribers.forEach(TopicSubscriber::close);
+    }
+    this.lastLikes.remove(setupId);
+  }
+
+  private void deliverComment(
+      final @NotNull SetupCommentEvent.Change change,
+      final @NotNull String setupId,
+      final @NotNull String commentId) {
+    if (!this.topics.containsKey(setupId)) {
+      return;
+    }
+
+    final String name =
+        switch (change) {
+          case CREATED -> "comment.created";
+          case UPDATED -> "comment.updated";
+          case DELETED -> "comment.deleted";
+        };
+    final Optional<?> payload =
+        change == SetupCommentEvent.Change.DELETED
+            ? Optional.of(Map.of("id", commentId))
+            : this.commentRepository.findPublicCommentInfo(commentId, setupId);
+
+    payload.ifPresent(comment -> this.publish(setupId, name + ":" + commentId, name, comment));
+  }
+
+  // Likes are sent as absolute counts at most once per debounce window, and only when the
+  // count differs from the last one sent, so a burst of likes collapses into a few updates.
+  private void flushLikes() {
+    if (this.dirtyLikes.isEmpty()) {
+      return;
+    }
+
+    final List<String> setupIds = List.copyOf(this.dirtyLikes);
+    this.dirtyLikes.removeAll(setupIds);
+
+    try {
+      this.setupCounterService
+          .findCounts(setupIds)
+          .forEach(
+              (setupId, counts) -> {
+                final Long previous = this.lastLikes.put(setupId, counts.likes());
+                if (previous == null || previous.longValue() != counts.likes()) {
+                  this.publish(
+                      setupId, LIKES, LIKES, new SetupLikesInfo(setupId, counts.likes()));
+                }
+              });
+    } catch (final Exception e) {
+      log.warn("Setup like count flush failed, retrying next cycle", e);
+      this.dirtyLikes.addAll(setupIds);
+    }
+  }
+
+  private void sendHeartbeat() {
+    this.topics.forEach(
+        (setupId, subscribers) ->
+            subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT, HEARTBEAT, "ping")));
+  }
+
+  private void publish(
+      final @NotNull String setupId,
+      final @NotNull String key,
+      final @NotNull String name,
+      final @NotNull Object payload) {
+    final Set<TopicSubscriber> subscribers = this.topics.get(setupId);
+    if (subscribers == null || subscribers.isEmpty()) {
+      return;
+    }
+
+    final String data;
+    try {
+      data = this.objectMapper.writeValueAsString(payload);
+    } catch (final JsonProcessingException e) {
+      log.error("Could not serialize {} event for setup {}", name, setupId, e);
+      return;
+    }
+
+    subscribers.forEach(subscriber -> subscriber.offer(key, name, data));
+  }
+
+  private void release(final @NotNull String clientKey) {
+    this.clientSubscriptions.computeIfPresent(
+        clientKey, (key, count) -> count > 1 ? count - 1 : null);
+  }
+
+  private void remove(final @NotNull TopicSubscriber subscriber) {
+    this.topics.computeIfPresent(
+        subscriber.setupId,
+        (setupId, subscribers) -> {
+          subscribers.remove(subscriber);
+          if (subscribers.isEmpty()) {
+            this.lastLikes.remove(setupId);
+            return null;
+          }
+          return subscribers;
+        });
+  }
+
+  private record TopicEvent(@NotNull String name, @NotNull String data) {}
+
+  // Each subscriber owns a bounded buffer keyed by event identity. A newer event with the same
+  // key replaces the queued one; a subscriber whose buffer fills up is disconnected and is
+  // expected to reconnect and refetch instead of holding memory for the whole topic.
+  private final class TopicSubscriber {
+    private final @NotNull String setupId;
+    private final @NotNull String clientKey;
+    private final @NotNull SseEmitter emitter;
+    private final Map<String, TopicEvent> pending = new LinkedHashMap<>();
+    private boolean draining;
+    private boolean closed;
+
+    TopicSubscriber(
+        final @NotNull String setupId,
+        final @NotNull String clientKey,
+        final @NotNull SseEmitter emitter) {
+      this.setupId = setupId;
+      this.clientKey = clientKey;
+      this.emitter = emitter;
+    }
+
+    void offer(final @NotNull String key, final @NotNull String name, final @NotNull String data) {
+      synchronized (this) {
+        if (this.closed) {
+          return;
+        }
+
+        if (this.pending.size() < SUBSCRIBER_BUFFER || this.pending.containsKey(key)) {
+          this.pending.put(key, new TopicEvent(name, data));
+          if (!this.draining) {
+            this.draining = true;
+            SetupTopicService.this.senders.execute(this::drain);
+          }
+          return;
+        }
+      }
+
+      log.debug("Setup topic {} subscriber fell behind, disconnecting", this.setupId);
+      this.close();
+    }
+
+    void close() {
+      synchronized (this) {
+        if (this.closed) {
+          return;
+        }
+        this.closed = true;
+        this.pending.clear();
+      }
+
+      SetupTopicService.this.remove(this);
+      SetupTopicService.this.release(this.clientKey);
+      try {
+        this.emitter.complete();
+      } catch (final IllegalStateException e) {
+        log.debug("Setup topic emitter for {} already completed", this.setupId);
+      }
+    }
+
+    private void drain() {
+      while (true) {
+        final TopicEvent next;
+        synchronized (this) {
+          final Iterator<TopicEvent> iterator = this.pending.values().iterator();
+          if (this.closed || !iterator.hasNext()) {
+            this.draining = false;
+            return;
+          }
+          next = iterator.next();
+          iterator.remove();
+        }
+
+        try {
+          this.emitter.send(SseEmitter.event().name(next.name()).data(next.data()));
+        } catch (final IOException | IllegalStateException e) {
+          log.debug("Setup topic {} subscriber went away", this.setupId, e);
+          this.close();
+          return;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.setupshowroom.setup;
+
+import java.time.Instant;
+
+public interface SetupVersionRow {
+  String getId();
+
+  Instant getUpdatedAt();
+
+  Instant getOwnerUpdatedAt();
+}
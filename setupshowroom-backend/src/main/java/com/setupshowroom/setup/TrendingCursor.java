@@ -0,0 +1,26 @@
+package com.setupshowroom.setup;
+
+import com.setupshowroom.shared.pagination.CursorCodec;
+import jakarta.validation.ValidationException;
+import org.jetbrains.annotations.NotNull;
+
+record TrendingCursor(double score, @NotNull String id) {
+  static @NotNull TrendingCursor of(final @NotNull Setup setup) {
+    return new TrendingCursor(setup.getTrendingScore(), setup.getId());
+  }
+
+  static @NotNull TrendingCursor decode(final @NotNull String cursor) {
+    final String[] parts = CursorCodec.decode(cursor, 2);
+
+    try {
+      return new TrendingCursor(Double.parseDouble(parts[0]), parts[1]);
+    } catch (final NumberFormatException e) {
+      throw new ValidationException("invalidCursor");
+    }
+  }
+
+  @NotNull
+  String encode() {
+    return CursorCodec.encode(String.valueOf(this.score), this.id);
+  }
+}
@@ -0,0 +1,32 @@
+package com.setupshowroom.setup;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+  private static final Duration HALF_LIFE = Duration.ofHours(12);
+  static final double DECAY_RATE = Math.log(2) / HALF_LIFE.toSeconds();
+  // Decay never reaches zero on its own. Scores under the floor, about a single like a few
+  // days old, are zeroed so renormalization stops rewriting setups nobody engages with.
+  static final double SCORE_FLOOR = 0.01;
+
+  private final @NotNull SetupRepository setupRepository;
+
+  @Scheduled(fixedRateString = "PT6H")
+  public void renormalize() {
+    try {
+      this.setupRepository.renormalizeTrendingScores(DECAY_RATE, SCORE_FLOOR, Instant.now());
+      log.debug("Trending scores renormalized");
+    } catch (final Exception e) {
+      log.error("Trending score renormalization failed", e);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.setupshowroom.setup.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SetupDetailConfig {
+  @Bean(destroyMethod = "close")
+  public ExecutorService setupDetailExecutor() {
+    return Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("setup-detail-", 0).factory());
+  }
+}
@@ -4,7 +4,6 @@ import com.setupshowroom.comment.Comment;
 import com.setupshowroom.comment.dto.CommentInfo;
 import com.setupshowroom.setup.Setup;
 import com.setupshowroom.setup.dto.SetupForm;
-import com.setupshowroom.tag.Tag;
 import com.setupshowroom.user.dto.UserInfo;
 import jakarta.validation.constraints.NotNull;
 import org.mapstruct.Mapper;
@@ -19,17 +18,11 @@ public interface SetupConverter {
         target = "id",
         expression = "java(com.github.f4b6a3.ulid.UlidCreator.getUlid().toString())"),
     @Mapping(target = "tags", ignore = true),
+    @Mapping(target = "engagementScore", ignore = true),
+    @Mapping(target = "trendingScore", ignore = true),
   })
   Setup toSetup(@NotNull SetupForm setupForm);
 
-  @Mappings({
-    @Mapping(
-        target = "id",
-        expression = "java(com.github.f4b6a3.ulid.UlidCreator.getUlid().toString())"),
-    @Mapping(target = "name", source = "tag")
-  })
-  Tag toTag(@NotNull String tag);
-
   @Mappings({
     @Mapping(target = "author", source = "userInfo"),
     @Mapping(target = "id", source = "comment.id")
@@ -0,0 +1,15 @@
+package com.setupshowroom.setup.dto;
+
+import com.setupshowroom.comment.dto.CommentInfo;
+import com.setupshowroom.user.profile.dto.ProfileInfo;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class SetupDetailInfo {
+  private SetupInfo setup;
+  private List<CommentInfo> comments;
+  private ProfileInfo owner;
+}
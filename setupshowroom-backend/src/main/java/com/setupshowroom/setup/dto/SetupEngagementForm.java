@@ -0,0 +1,16 @@
+package com.setupshowroom.setup.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class SetupEngagementForm {
+  @NotEmpty
+  @Size(max = 300)
+  @JsonProperty("setup_ids")
+  private List<@NotBlank String> setupIds;
+}
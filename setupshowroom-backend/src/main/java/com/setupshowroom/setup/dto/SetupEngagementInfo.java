@@ -0,0 +1,21 @@
+package com.setupshowroom.setup.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class SetupEngagementInfo {
+  private String id;
+  private long likes;
+
+  @JsonProperty("comment_size")
+  private long commentSize;
+
+  @JsonProperty("is_liked")
+  private boolean isLiked;
+
+  @JsonProperty("is_favorite")
+  private boolean isFavorite;
+}
@@ -7,7 +7,7 @@ import java.util.List;
 import lombok.Builder;
 import lombok.Data;
 
-@Builder
+@Builder(toBuilder = true)
 @Data
 public class SetupInfo {
   private String title;
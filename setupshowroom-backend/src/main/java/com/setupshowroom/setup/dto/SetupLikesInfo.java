@@ -0,0 +1,14 @@
+package com.setupshowroom.setup.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SetupLikesInfo {
+  @JsonProperty("setup_id")
+  private String setupId;
+
+  private long likes;
+}
@@ -0,0 +1,18 @@
+package com.setupshowroom.setup.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class SetupSearchResult {
+  private List<SetupInfo> setups;
+  private Map<String, Long> categories;
+  private Map<String, Long> tags;
+
+  @JsonProperty("next_cursor")
+  private String nextCursor;
+}
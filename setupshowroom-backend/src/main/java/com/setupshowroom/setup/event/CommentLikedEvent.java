@@ -0,0 +1,11 @@
+package com.setupshowroom.setup.event;
+
+import jakarta.validation.constraints.NotNull;
+
+public record CommentLikedEvent(
+    @NotNull String setupId,
+    @NotNull String commentId,
+    @NotNull String authorId,
+    @NotNull String userId,
+    @NotNull String username,
+    @NotNull String content) {}
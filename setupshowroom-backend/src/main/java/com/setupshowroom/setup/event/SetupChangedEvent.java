@@ -0,0 +1,10 @@
+package com.setupshowroom.setup.event;
+
+import jakarta.validation.constraints.NotNull;
+
+public record SetupChangedEvent(@NotNull String setupId, @NotNull Change change) {
+  public enum Change {
+    UPDATED,
+    DELETED
+  }
+}
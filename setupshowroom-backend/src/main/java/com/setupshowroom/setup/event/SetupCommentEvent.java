@@ -0,0 +1,12 @@
+package com.setupshowroom.setup.event;
+
+import jakarta.validation.constraints.NotNull;
+
+public record SetupCommentEvent(
+    @NotNull String setupId, @NotNull String commentId, @NotNull Change change) {
+  public enum Change {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+}
@@ -0,0 +1,10 @@
+package com.setupshowroom.setup.event;
+
+import jakarta.validation.constraints.NotNull;
+
+public record SetupCommentedEvent(
+    @NotNull String setupId,
+    @NotNull String commentId,
+    @NotNull String ownerId,
+    @NotNull String userId,
+    @NotNull String username) {}
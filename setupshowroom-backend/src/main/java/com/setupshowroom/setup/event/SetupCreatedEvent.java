@@ -0,0 +1,5 @@
+package com.setupshowroom.setup.event;
+
+import jakarta.validation.constraints.NotNull;
+
+public record SetupCreatedEvent(@NotNull String setupId, @NotNull String userId) {}
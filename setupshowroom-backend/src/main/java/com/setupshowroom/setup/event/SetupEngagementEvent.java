@@ -0,0 +1,29 @@
+package com.setupshowroom.setup.event;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+
+// occurredAt is when the engagement was added, also for a removal, so the trending score
+// can take back exactly the weight the engagement contributed.
+public record SetupEngagementEvent(
+    @NotNull String setupId,
+    @NotNull String userId,
+    @NotNull Engagement engagement,
+    int delta,
+    @NotNull Instant occurredAt) {
+  public enum Engagement {
+    LIKE(1),
+    COMMENT(2),
+    FAVORITE(2);
+
+    private final int weight;
+
+    Engagement(final int weight) {
+      this.weight = weight;
+    }
+
+    public int weight() {
+      return this.weight;
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package com.setupshowroom.setup.event;
+
+import jakarta.validation.constraints.NotNull;
+
+public record SetupLikedEvent(
+    @NotNull String setupId,
+    @NotNull String ownerId,
+    @NotNull String userId,
+    @NotNull String username) {}
@@ -0,0 +1,52 @@
+package com.setupshowroom.shared.async;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Slf4j
+@Configuration
+@EnableAsync
+public class AsyncConfig implements AsyncConfigurer {
+  private static final int CORE_POOL_SIZE = 4;
+  private static final int MAX_POOL_SIZE = 16;
+  private static final int QUEUE_CAPACITY = 1_000;
+  private static final int AWAIT_TERMINATION_SECONDS = 30;
+
+  // Deliberately not a bean: an Executor bean would make Boot back off its own
+  // applicationTaskExecutor, which Spring MVC uses for async requests.
+  private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+  // Module listeners run here after the publishing transaction commits. When the queue is
+  // full the listener is dropped instead of running on the committing request thread; its
+  // publication stays incomplete and IncompletePublicationResubmitter delivers it later.
+  @Override
+  public Executor getAsyncExecutor() {
+    this.executor.setCorePoolSize(CORE_POOL_SIZE);
+    this.executor.setMaxPoolSize(MAX_POOL_SIZE);
+    this.executor.setQueueCapacity(QUEUE_CAPACITY);
+    this.executor.setThreadNamePrefix("async-");
+    this.executor.setRejectedExecutionHandler(
+        (task, pool) -> log.warn("Async queue full, leaving event publication for resubmission"));
+    this.executor.setWaitForTasksToCompleteOnShutdown(true);
+    this.executor.setAwaitTerminationSeconds(AWAIT_TERMINATION_SECONDS);
+    this.executor.initialize();
+    return this.executor;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    this.executor.shutdown();
+  }
+
+  @Override
+  public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+    return (ex, method, params) ->
+        log.error("Async listener {} failed: {}", method.getName(), ex.getMessage(), ex);
+  }
+}
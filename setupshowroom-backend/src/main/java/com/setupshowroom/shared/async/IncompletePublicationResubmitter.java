@@ -0,0 +1,38 @@
+package com.setupshowroom.shared.async;
+
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.modulith.events.IncompleteEventPublications;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Redelivers event publications whose listener was dropped by a full async queue or failed.
+// The cron fires on every replica at once; the one holding the advisory lock resubmits and
+// the others skip the round, so a publication is not handed to several replicas together.
+@Service
+@RequiredArgsConstructor
+public class IncompletePublicationResubmitter {
+  private static final String LOCK_NAME = "event_publication_resubmit";
+  // Longer than a full async queue takes to drain, so publications still waiting for an
+  // executor thread are not delivered twice.
+  private static final Duration MIN_AGE = Duration.ofMinutes(5);
+
+  private final @NotNull IncompleteEventPublications incompleteEventPublications;
+  private final @NotNull JdbcTemplate jdbcTemplate;
+  private final @NotNull TransactionTemplate transactionTemplate;
+
+  @Scheduled(cron = "0 */5 * * * *")
+  public void resubmit() {
+    this.transactionTemplate.executeWithoutResult(
+        status -> {
+          if (Boolean.TRUE.equals(
+              this.jdbcTemplate.queryForObject(
+                  "select pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, LOCK_NAME))) {
+            this.incompleteEventPublications.resubmitIncompletePublicationsOlderThan(MIN_AGE);
+          }
+        });
+  }
+}
@@ -0,0 +1,166 @@
+package com.setupshowroom.shared.cluster;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterBus {
+  private static final String SEPARATOR = ":";
+  private static final Duration POLL_TIMEOUT = Duration.ofSeconds(10);
+  // A half-open socket never errors on its own; reads on it just block. Every read on the
+  // listener connection is bounded, and each poll cycle ends with a round trip, so a dead peer
+  // surfaces as an SQLException within one cycle and the listener reconnects.
+  private static final Duration NETWORK_TIMEOUT = POLL_TIMEOUT.plusSeconds(5);
+  private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+  private final @NotNull JdbcTemplate jdbcTemplate;
+  private final @NotNull DataSourceProperties dataSourceProperties;
+
+  private final String nodeId = UlidCreator.getUlid().toString();
+  private final Map<String, List<Consumer<ClusterMessage>>> subscribers =
+      new ConcurrentHashMap<>();
+  private final ExecutorService handlers =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cluster-bus-", 0).factory());
+  private volatile boolean running;
+  private Thread listener;
+
+  public record ClusterMessage(@NotNull String payload, boolean local) {}
+
+  // Channels subscribed after the listener connected are picked up on its next poll cycle.
+  public void subscribe(
+      final @NotNull String channel, final @NotNull Consumer<ClusterMessage> handler) {
+    this.subscribers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(handler);
+  }
+
+  // NOTIFY issued inside a transaction is only delivered by Postgres once that transaction
+  // commits, and is dropped on rollback.
+  public void publish(final @NotNull String channel, final @NotNull String payload) {
+    this.jdbcTemplate.queryForObject(
+        "select count(*) from (select pg_notify(?, ?)) n",
+        Long.class,
+        channel,
+        this.nodeId + SEPARATOR + payload);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    this.running = true;
+    this.listener = Thread.ofPlatform().name("cluster-bus-listener").daemon().start(this::listen);
+  }
+
+  @PreDestroy
+  public void stop() {
+    this.running = false;
+    if (this.listener != null) {
+      this.listener.interrupt();
+    }
+    this.handlers.close();
+  }
+
+  private void listen() {
+    while (this.running) {
+      try (Connection connection = this.connect()) {
+        final Set<String> listening = new HashSet<>();
+        final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        connection.setNetworkTimeout(Runnable::run, (int) NETWORK_TIMEOUT.toMillis());
+
+        while (this.running) {
+          this.listenToNewChannels(connection, listening);
+
+          final PGNotification[] notifications =
+              pgConnection.getNotifications((int) POLL_TIMEOUT.toMillis());
+
+          if (notifications != null) {
+            for (final PGNotification notification : notifications) {
+              this.dispatch(notification.getName(), notification.getParameter());
+            }
+          }
+
+          this.keepAlive(connection);
+        }
+      } catch (final SQLException e) {
+        if (!this.running) {
+          return;
+        }
+        log.warn(
+            "Cluster bus connection lost, reconnecting in {}: {}", RECONNECT_DELAY, e.getMessage());
+        try {
+          Thread.sleep(RECONNECT_DELAY);
+        } catch (final InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private void keepAlive(final @NotNull Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("select 1");
+    }
+  }
+
+  private void listenToNewChannels(
+      final @NotNull Connection connection, final @NotNull Set<String> listening)
+      throws SQLException {
+    for (final String channel : this.subscribers.keySet()) {
+      if (listening.add(channel)) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + channel);
+        }
+        log.info("Listening on cluster channel {}", channel);
+      }
+    }
+  }
+
+  private void dispatch(final @NotNull String channel, final @NotNull String raw) {
+    final int separator = raw.indexOf(SEPARATOR);
+    if (separator < 0) {
+      log.warn("Ignoring malformed payload on channel {}: {}", channel, raw);
+      return;
+    }
+
+    final ClusterMessage message =
+        new ClusterMessage(
+            raw.substring(separator + 1), this.nodeId.equals(raw.substring(0, separator)));
+
+    final List<Consumer<ClusterMessage>> channelHandlers =
+        this.subscribers.getOrDefault(channel, List.of());
+    for (final Consumer<ClusterMessage> handler : channelHandlers) {
+      this.handlers.execute(() -> handler.accept(message));
+    }
+  }
+
+  private @NotNull Connection connect() throws SQLException {
+    return DriverManager.getConnection(
+        this.dataSourceProperties.determineUrl(),
+        this.dataSourceProperties.determineUsername(),
+        this.dataSourceProperties.determinePassword());
+  }
+}
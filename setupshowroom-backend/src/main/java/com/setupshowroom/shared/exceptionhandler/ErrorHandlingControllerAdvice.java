@@ -5,6 +5,7 @@ import com.setupshowroom.shared.dto.response.RestResponse;
 import com.setupshowroom.shared.exceptionhandler.exception.AccessNotAllowedException;
 import com.setupshowroom.shared.exceptionhandler.exception.EmailCannotChangeException;
 import com.setupshowroom.shared.exceptionhandler.exception.ItemNotFoundException;
+import com.setupshowroom.shared.exceptionhandler.exception.TooManyRequestsException;
 import com.setupshowroom.shared.exceptionhandler.exception.UnAuthorizedException;
 import com.setupshowroom.shared.exceptionhandler.exception.UnPermittedContentException;
 import com.setupshowroom.shared.exceptionhandler.exception.UsernameAlreadyExistsException;
@@ -184,6 +185,24 @@ public class ErrorHandlingControllerAdvice {
         .body(this.createMessage(ResponseType.ERROR, messageText, ex.getMessage()));
   }
 
+  @ExceptionHandler(TooManyRequestsException.class)
+  @Nullable
+  ResponseEntity<RestResponse<String>> handleException(
+      final @NotNull TooManyRequestsException ex, final @Nullable HttpServletResponse response) {
+    if (response == null) {
+      return null;
+    }
+
+    final String exceptionMessage = ex.getMessage();
+    final String messageText = exceptionMessage != null ? exceptionMessage : "tooManyRequests";
+
+    log.info(ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(this.createMessage(ResponseType.ERROR, messageText, ex.getMessage()));
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   @Nullable
   ResponseEntity<RestResponse<Void>> handleException(
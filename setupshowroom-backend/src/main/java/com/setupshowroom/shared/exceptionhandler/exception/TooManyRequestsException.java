@@ -0,0 +1,9 @@
+package com.setupshowroom.shared.exceptionhandler.exception;
+
+import org.jetbrains.annotations.NotNull;
+
+public class TooManyRequestsException extends RuntimeException {
+  public TooManyRequestsException(final @NotNull String message) {
+    super(message);
+  }
+}
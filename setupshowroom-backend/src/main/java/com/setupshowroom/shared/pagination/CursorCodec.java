@@ -0,0 +1,34 @@
+package com.setupshowroom.shared.pagination;
+
+import jakarta.validation.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+
+@UtilityClass
+public final class CursorCodec {
+  private static final String SEPARATOR = "|";
+  private static final Pattern SEPARATOR_PATTERN = Pattern.compile(Pattern.quote(SEPARATOR));
+
+  public static @NotNull String encode(final @NotNull String... parts) {
+    final byte[] raw = String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+  }
+
+  public static @NotNull String[] decode(final @NotNull String cursor, final int expectedParts) {
+    try {
+      final String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      final String[] parts = SEPARATOR_PATTERN.split(raw, -1);
+
+      if (parts.length != expectedParts) {
+        throw new ValidationException("invalidCursor");
+      }
+
+      return parts;
+    } catch (final IllegalArgumentException e) {
+      throw new ValidationException("invalidCursor");
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.setupshowroom.shared.pagination;
+
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+
+public record CursorPage<T>(@NotNull List<T> items, @Nullable String nextCursor) {
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  public @NotNull HttpHeaders headers() {
+    final HttpHeaders headers = new HttpHeaders();
+    if (this.nextCursor != null) {
+      headers.add(NEXT_CURSOR_HEADER, this.nextCursor);
+    }
+    return headers;
+  }
+}
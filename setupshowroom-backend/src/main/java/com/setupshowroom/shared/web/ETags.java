@@ -0,0 +1,41 @@
+package com.setupshowroom.shared.web;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.web.context.request.WebRequest;
+
+@UtilityClass
+public final class ETags {
+  private static final String SEPARATOR = "\n";
+  private static final int LENGTH_BYTES = 16;
+
+  public static @NotNull String of(final @NotNull Iterable<String> parts) {
+    final MessageDigest digest = newDigest();
+
+    for (final String part : parts) {
+      digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+      digest.update(SEPARATOR.getBytes(StandardCharsets.UTF_8));
+    }
+
+    final byte[] hash = digest.digest();
+    return HexFormat.of().formatHex(hash, 0, LENGTH_BYTES);
+  }
+
+  public static boolean notModified(
+      final @NotNull WebRequest request, final @NotNull Optional<String> version) {
+    return version.isPresent() && request.checkNotModified(version.get());
+  }
+
+  private static @NotNull MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -12,10 +12,12 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.jetbrains.annotations.NotNull;
 
 @Builder
 @Entity
+@BatchSize(size = 50)
 @Table(name = "tag")
 @Getter
 @Setter
@@ -31,8 +33,9 @@ public class Tag implements Comparable<Tag> {
   @ManyToMany(mappedBy = "tags")
   private SortedSet<Setup> setups;
 
+  // Goes through the getters so a lazy proxy is initialized before its name is read.
   @Override
   public int compareTo(final @NotNull Tag other) {
-    return this.name.compareTo(other.name);
+    return this.getName().compareTo(other.getName());
   }
 }
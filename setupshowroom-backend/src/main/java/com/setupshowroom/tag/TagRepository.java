@@ -1,7 +1,39 @@
 package com.setupshowroom.tag;
 
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TagRepository extends JpaRepository<Tag, String> {}
+public interface TagRepository extends JpaRepository<Tag, String> {
+  @Query(
+      value =
+          """
+      insert into tag (id, name)
+      select * from unnest(cast(:ids as varchar[]), cast(:names as varchar[]))
+      on conflict (name) do update set name = excluded.name
+      returning *
+      """,
+      nativeQuery = true)
+  @NotNull
+  List<Tag> upsertAll(@NotNull String[] ids, @NotNull String[] names);
+
+  @Query(
+      value =
+          """
+      select t.*
+      from tag t
+      join (
+        select st.tag_id, count(*) as uses
+        from setup_tag st
+        group by st.tag_id
+        order by uses desc
+        limit :limit
+      ) u on u.tag_id = t.id
+      """,
+      nativeQuery = true)
+  @NotNull
+  List<Tag> findMostUsed(long limit);
+}
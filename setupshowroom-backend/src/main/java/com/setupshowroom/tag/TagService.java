@@ -0,0 +1,92 @@
+package com.setupshowroom.tag;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.transaction.Transactional;
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// Names are resolved through a bounded dictionary of tag rows. Known names come back as
+// detached rows that are written to setup_tag by id, so resolving them costs no query; only
+// unknown names reach the upsert.
+@Slf4j
+@Service
+@Transactional
+public class TagService {
+  private static final long MAX_TAGS = 50_000;
+
+  private final @NotNull TagRepository tagRepository;
+  private final @NotNull Cache<String, String> tagIdsByName;
+
+  public TagService(
+      final @NotNull TagRepository tagRepository, final @NotNull MeterRegistry meterRegistry) {
+    this.tagRepository = tagRepository;
+    this.tagIdsByName = Caffeine.newBuilder().maximumSize(MAX_TAGS).recordStats().build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, this.tagIdsByName, "tag.dictionary");
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    this.tagRepository.findMostUsed(MAX_TAGS).forEach(this::remember);
+    log.info("Tag dictionary warmed with {} tags", this.tagIdsByName.estimatedSize());
+  }
+
+  public @NotNull List<Tag> resolveTags(final @NotNull Collection<String> names) {
+    final Set<String> normalizedNames =
+        names.stream()
+            .map(TagService::normalize)
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toSet());
+
+    if (normalizedNames.isEmpty()) {
+      return List.of();
+    }
+
+    final List<Tag> tags = new ArrayList<>();
+    final List<String> missingNames = new ArrayList<>();
+
+    for (final String name : normalizedNames) {
+      final String id = this.tagIdsByName.getIfPresent(name);
+
+      if (id == null) {
+        missingNames.add(name);
+      } else {
+        tags.add(Tag.builder().id(id).name(name).build());
+      }
+    }
+
+    if (!missingNames.isEmpty()) {
+      final String[] missing = missingNames.toArray(String[]::new);
+      final String[] ids = new String[missing.length];
+      Arrays.setAll(ids, i -> UlidCreator.getUlid().toString());
+
+      final List<Tag> upserted = this.tagRepository.upsertAll(ids, missing);
+      upserted.forEach(this::remember);
+      tags.addAll(upserted);
+    }
+
+    return tags;
+  }
+
+  private void remember(final @NotNull Tag tag) {
+    this.tagIdsByName.put(tag.getName(), tag.getId());
+  }
+
+  private static @NotNull String normalize(final @NotNull String name) {
+    return name.strip().toLowerCase(Locale.ROOT);
+  }
+}
@@ -2,8 +2,14 @@ package com.setupshowroom.user;
 
 import com.setupshowroom.setup.Favorite;
 import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,4 +19,59 @@ public interface FavoriteRepository extends JpaRepository<Favorite, String> {
       @NotNull String userId, @NotNull String setupId);
 
   boolean existsByUserIdAndSetupIdAndDeletedFalse(String userId, String setupId);
+
+  @Query(
+      """
+      select f.setup.id
+      from Favorite f
+      where f.user.id = :userId
+      and f.deleted = false
+      """)
+  @NotNull
+  List<String> findAllFavoriteSetupIds(@NotNull String userId, @NotNull Pageable pageable);
+
+  @Query(
+      """
+      select f.setup.id
+      from Favorite f
+      where f.user.id = :userId
+      and f.setup.id in :setupIds
+      and f.deleted = false
+      """)
+  @NotNull
+  List<String> findFavoriteSetupIdsIn(
+      @NotNull String userId, @NotNull Collection<String> setupIds);
+
+  @Modifying
+  @Query(
+      value =
+          """
+      insert into favorite (id, user_id, setup_id, deleted, created_at, updated_at)
+      select :id, :userId, s.id, false, :now, :now
+      from setup s
+      where s.id = :setupId
+      and s.deleted = false
+      on conflict (user_id, setup_id) do update
+      set deleted = false,
+          deleted_at = null,
+          created_at = excluded.created_at,
+          updated_at = excluded.updated_at
+      where favorite.deleted = true
+      """,
+      nativeQuery = true)
+  int insertFavorite(
+      @NotNull String id, @NotNull String userId, @NotNull String setupId, @NotNull Instant now);
+
+  @Query(
+      value =
+          """
+      delete from favorite
+      where user_id = :userId
+      and setup_id = :setupId
+      and deleted = false
+      returning created_at
+      """,
+      nativeQuery = true)
+  @NotNull
+  Optional<Instant> deleteFavorite(@NotNull String userId, @NotNull String setupId);
 }
@@ -7,6 +7,7 @@ import com.setupshowroom.product.dto.FavoriteProductInfo;
 import com.setupshowroom.setup.SetupFacade;
 import com.setupshowroom.setup.dto.SetupInfo;
 import com.setupshowroom.shared.dto.Response;
+import com.setupshowroom.shared.web.ETags;
 import com.setupshowroom.systeminfo.dto.SystemRequirementForm;
 import com.setupshowroom.user.dto.PasswordChangeForm;
 import com.setupshowroom.user.dto.UserForm;
@@ -30,6 +31,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @RequestMapping("/api/user")
@@ -41,7 +43,17 @@ public class UserController {
 
   @GetMapping("/{userId}/setups/favorite")
   public @NotNull ResponseEntity<Response<List<SetupInfo>>> getAllFavorites(
-      @PathVariable final @NotNull String userId, @PageableDefault final Pageable pageable) {
+      @PathVariable final @NotNull String userId,
+      @RequestParam(required = false) final String after,
+      @PageableDefault final Pageable pageable) {
+    if (after != null) {
+      final var page =
+          this.setupFacade.getSetupFavoriteSetups(userId, after, pageable.getPageSize());
+      return ResponseEntity.ok()
+          .headers(page.headers())
+          .body(Response.success("retrieved", page.items(), HttpStatus.OK.value()));
+    }
+
     final var setups = this.setupFacade.getSetupFavoriteSetups(userId, pageable);
 
     final Response<List<SetupInfo>> response =
@@ -77,7 +89,11 @@ public class UserController {
 
   @GetMapping("/{userId}")
   public @NotNull ResponseEntity<Response<UserInfo>> get(
-      @PathVariable final @NotNull String userId) {
+      @PathVariable final @NotNull String userId, final @NotNull WebRequest webRequest) {
+    if (ETags.notModified(webRequest, this.userService.findProfileVersion(userId))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
     final UserInfo userInfo = this.userService.getById(userId);
 
     final Response<UserInfo> response =
@@ -119,7 +135,11 @@ public class UserController {
 
   @GetMapping("/{userId}/profile")
   public @NotNull ResponseEntity<Response<ProfileInfo>> getUserProfile(
-      @PathVariable final @NotNull String userId) {
+      @PathVariable final @NotNull String userId, final @NotNull WebRequest webRequest) {
+    if (ETags.notModified(webRequest, this.userService.findProfileVersion(userId))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
     final ProfileInfo profileInfo = this.userService.findUserProfile(userId);
 
     final Response<ProfileInfo> response =
@@ -130,9 +150,16 @@ public class UserController {
 
   @GetMapping("/{userId}/setups")
   public @NotNull ResponseEntity<Response<List<SetupInfo>>> getSetups(
-      @PathVariable final @NotNull String userId, @PageableDefault final Pageable pageable) {
-    final var user = this.userService.findById(userId);
-    final var setups = this.setupFacade.findAllSetupsByUser(user.getId(), pageable);
+      @PathVariable final @NotNull String userId,
+      @PageableDefault final Pageable pageable,
+      final @NotNull WebRequest webRequest) {
+    final var page = this.setupFacade.findSetupIdsByUser(userId, pageable);
+
+    if (ETags.notModified(webRequest, this.setupFacade.findSetupsVersion(userId, page))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    final var setups = this.setupFacade.hydrateSetups(userId, page.items());
 
     final Response<List<SetupInfo>> response =
         Response.success("retrieved", setups, HttpStatus.OK.value());
@@ -16,4 +16,25 @@ public interface UserRepository extends CrudRepository<User, String> {
   boolean existsByUsernameAndLockedFalseAndEnabledTrue(@NotNull String username);
 
   boolean existsByEmailAndLockedFalseAndEnabledTrue(@NotNull String email);
+
+  @Query(
+      value =
+          """
+      select md5(concat_ws('|',
+        cast(u.updated_at as text),
+        (select cast(p as text) from user_profile p where p.user_id = u.id),
+        (select cast(sr.updated_at as text) from system_requirement sr where sr.user_id = u.id),
+        (select string_agg(g.id || ':' || cast(g.updated_at as text), ',' order by g.id)
+          from favorite_product_group g
+          where g.user_id = u.id and g.deleted = false),
+        (select string_agg(fp.id || ':' || cast(fp.updated_at as text), ',' order by fp.id)
+          from favorite_product fp
+          join favorite_product_group g on g.id = fp.favorite_product_group_id
+          where g.user_id = u.id and g.deleted = false and fp.deleted = false)))
+      from "user" u
+      where u.id = :userId
+      and u.deleted = false
+      """,
+      nativeQuery = true)
+  Optional<String> findProfileVersion(@NotNull String userId);
 }
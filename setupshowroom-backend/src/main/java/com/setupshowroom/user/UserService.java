@@ -33,6 +33,7 @@ import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
@@ -124,6 +125,10 @@ public class UserService {
     return false;
   }
 
+  public @NotNull Optional<String> findProfileVersion(final @NotNull String userId) {
+    return this.userRepository.findProfileVersion(userId);
+  }
+
   public @NotNull User findById(final @NotNull String userId) {
     return this.userRepository
         .findUserById(userId)
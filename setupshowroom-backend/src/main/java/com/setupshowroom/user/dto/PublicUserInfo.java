@@ -0,0 +1,19 @@
+package com.setupshowroom.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PublicUserInfo {
+  private String id;
+
+  @JsonProperty("full_name")
+  private String fullName;
+
+  private String username;
+  private String profession;
+}
@@ -0,0 +1,9 @@
+ALTER TABLE setup
+  ADD COLUMN engagement_score BIGINT NOT NULL DEFAULT 0;
+
+UPDATE setup s
+SET engagement_score = (SELECT count(*) FROM "like" l WHERE l.setup_id = s.id AND l.deleted = false)
+                     + (SELECT count(*) FROM comment c WHERE c.setup_id = s.id AND c.deleted = false)
+                     + (SELECT count(*) FROM favorite f WHERE f.setup_id = s.id AND f.deleted = false);
+
+CREATE INDEX idx_setup_engagement_id ON setup (engagement_score DESC, id DESC) WHERE deleted = false;
@@ -0,0 +1,32 @@
+CREATE TABLE feed_timeline
+(
+  user_id      VARCHAR(26) NOT NULL,
+  built_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  last_read_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_feed_timeline PRIMARY KEY (user_id)
+);
+
+CREATE TABLE feed_entry
+(
+  user_id  VARCHAR(26) NOT NULL,
+  setup_id VARCHAR(26) NOT NULL,
+  CONSTRAINT pk_feed_entry PRIMARY KEY (user_id, setup_id)
+);
+
+ALTER TABLE feed_timeline
+  ADD CONSTRAINT FK_FEED_TIMELINE_ON_USER FOREIGN KEY (user_id) REFERENCES "user" (id) ON DELETE CASCADE;
+
+ALTER TABLE feed_entry
+  ADD CONSTRAINT FK_FEED_ENTRY_ON_TIMELINE FOREIGN KEY (user_id) REFERENCES feed_timeline (user_id) ON DELETE CASCADE;
+
+ALTER TABLE feed_entry
+  ADD CONSTRAINT FK_FEED_ENTRY_ON_SETUP FOREIGN KEY (setup_id) REFERENCES setup (id) ON DELETE CASCADE;
+
+CREATE INDEX idx_feed_entry_setup ON feed_entry (setup_id);
+CREATE INDEX idx_feed_timeline_last_read ON feed_timeline (last_read_at);
+
+CREATE INDEX idx_setup_user ON setup (user_id);
+CREATE INDEX idx_setup_categories_setup ON setup_categories (setup_id);
+CREATE INDEX idx_preferred_categories_category ON user_preference_preferred_categories (preferred_categories);
+CREATE INDEX idx_like_user_deleted ON "like" (user_id, deleted);
+CREATE INDEX idx_favorite_user_deleted ON favorite (user_id, deleted);
@@ -0,0 +1,25 @@
+CREATE TABLE trending_epoch
+(
+  id         SMALLINT NOT NULL,
+  started_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_trending_epoch PRIMARY KEY (id)
+);
+
+INSERT INTO trending_epoch (id, started_at)
+VALUES (1, localtimestamp);
+
+ALTER TABLE setup
+  ADD COLUMN trending_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+-- 12 hour half-life, scores are stored relative to trending_epoch.started_at
+UPDATE setup s
+SET trending_score = coalesce((SELECT sum(e.weight * exp(ln(2) * extract(EPOCH FROM (e.created_at - t.started_at)) / 43200))
+                               FROM (SELECT l.setup_id, l.created_at, 1 AS weight FROM "like" l WHERE l.deleted = false
+                                     UNION ALL
+                                     SELECT c.setup_id, c.created_at, 2 FROM comment c WHERE c.deleted = false
+                                     UNION ALL
+                                     SELECT f.setup_id, f.created_at, 2 FROM favorite f WHERE f.deleted = false) e,
+                                    trending_epoch t
+                               WHERE e.setup_id = s.id), 0);
+
+CREATE INDEX idx_setup_trending_id ON setup (trending_score DESC, id DESC) WHERE deleted = false;
@@ -0,0 +1,92 @@
+ALTER TABLE setup
+  ADD COLUMN search_vector TSVECTOR NOT NULL DEFAULT ''::tsvector;
+
+CREATE INDEX idx_setup_tag_setup ON setup_tag (setup_id);
+CREATE INDEX idx_setup_tag_tag ON setup_tag (tag_id);
+
+CREATE FUNCTION setup_search_document(p_title TEXT, p_description TEXT, p_setup_id VARCHAR)
+  RETURNS TSVECTOR
+  LANGUAGE sql
+  STABLE
+AS
+$$
+SELECT setweight(to_tsvector('simple', coalesce(p_title, '')), 'A')
+         || setweight(to_tsvector('simple', coalesce((SELECT string_agg(t.name, ' ')
+                                                      FROM setup_tag st
+                                                             JOIN tag t ON t.id = st.tag_id
+                                                      WHERE st.setup_id = p_setup_id), '')), 'B')
+         || setweight(to_tsvector('simple', coalesce(p_description, '')), 'C')
+$$;
+
+CREATE FUNCTION setup_search_vector_on_setup()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+BEGIN
+  NEW.search_vector := setup_search_document(NEW.title, NEW.description, NEW.id);
+  RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_setup_search_vector
+  BEFORE INSERT OR UPDATE OF title, description
+  ON setup
+  FOR EACH ROW
+EXECUTE FUNCTION setup_search_vector_on_setup();
+
+CREATE FUNCTION setup_search_vector_on_setup_tag()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+DECLARE
+  target_setup_id VARCHAR(26);
+BEGIN
+  IF TG_OP = 'DELETE' THEN
+    target_setup_id := OLD.setup_id;
+  ELSE
+    target_setup_id := NEW.setup_id;
+  END IF;
+
+  UPDATE setup
+  SET search_vector = setup_search_document(title, description, id)
+  WHERE id = target_setup_id;
+
+  RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_setup_tag_search_vector
+  AFTER INSERT OR DELETE
+  ON setup_tag
+  FOR EACH ROW
+EXECUTE FUNCTION setup_search_vector_on_setup_tag();
+
+CREATE FUNCTION setup_search_vector_on_tag()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+BEGIN
+  UPDATE setup s
+  SET search_vector = setup_search_document(s.title, s.description, s.id)
+  FROM setup_tag st
+  WHERE st.tag_id = NEW.id
+    AND st.setup_id = s.id;
+
+  RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_tag_search_vector
+  AFTER UPDATE OF name
+  ON tag
+  FOR EACH ROW
+  WHEN (OLD.name IS DISTINCT FROM NEW.name)
+EXECUTE FUNCTION setup_search_vector_on_tag();
+
+UPDATE setup
+SET search_vector = setup_search_document(title, description, id);
+
+CREATE INDEX idx_setup_search_vector ON setup USING GIN (search_vector) WHERE deleted = false;
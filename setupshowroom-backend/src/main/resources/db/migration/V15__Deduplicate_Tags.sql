@@ -0,0 +1,47 @@
+CREATE TEMPORARY TABLE tag_merge ON COMMIT DROP AS
+SELECT t.id                                                                 AS duplicate_id,
+       first_value(t.id) OVER (PARTITION BY lower(btrim(t.name)) ORDER BY t.id) AS canonical_id
+FROM tag t
+WHERE t.name IS NOT NULL;
+
+DELETE
+FROM tag_merge
+WHERE duplicate_id = canonical_id;
+
+INSERT INTO setup_tag (setup_id, tag_id)
+SELECT DISTINCT st.setup_id, m.canonical_id
+FROM setup_tag st
+       JOIN tag_merge m ON m.duplicate_id = st.tag_id
+WHERE NOT EXISTS (SELECT 1
+                  FROM setup_tag existing
+                  WHERE existing.setup_id = st.setup_id
+                    AND existing.tag_id = m.canonical_id);
+
+DELETE
+FROM setup_tag st
+  USING tag_merge m
+WHERE st.tag_id = m.duplicate_id;
+
+DELETE
+FROM tag t
+  USING tag_merge m
+WHERE t.id = m.duplicate_id;
+
+DELETE
+FROM setup_tag a
+  USING setup_tag b
+WHERE a.ctid < b.ctid
+  AND a.setup_id = b.setup_id
+  AND a.tag_id = b.tag_id;
+
+UPDATE tag
+SET name = lower(btrim(name))
+WHERE name <> lower(btrim(name));
+
+ALTER TABLE setup_tag
+  ADD CONSTRAINT pk_setup_tag PRIMARY KEY (setup_id, tag_id);
+
+ALTER TABLE tag
+  ADD CONSTRAINT uc_tag_name UNIQUE (name);
+
+DROP INDEX idx_setup_tag_setup;
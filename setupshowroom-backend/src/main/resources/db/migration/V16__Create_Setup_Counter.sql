@@ -0,0 +1,14 @@
+CREATE TABLE setup_counter
+(
+  setup_id       VARCHAR(26) NOT NULL,
+  like_count     BIGINT      NOT NULL DEFAULT 0,
+  comment_count  BIGINT      NOT NULL DEFAULT 0,
+  favorite_count BIGINT      NOT NULL DEFAULT 0,
+  CONSTRAINT pk_setup_counter PRIMARY KEY (setup_id)
+);
+
+ALTER TABLE setup_counter
+  ADD CONSTRAINT FK_SETUP_COUNTER_ON_SETUP FOREIGN KEY (setup_id) REFERENCES setup (id) ON DELETE CASCADE;
+
+CREATE INDEX idx_like_setup_deleted ON "like" (setup_id, deleted);
+CREATE INDEX idx_favorite_setup_deleted ON favorite (setup_id, deleted);
@@ -0,0 +1,9 @@
+DELETE
+FROM comment_like a
+  USING comment_like b
+WHERE a.user_id = b.user_id
+  AND a.comment_id = b.comment_id
+  AND (a.deleted, a.id) > (b.deleted, b.id);
+
+ALTER TABLE comment_like
+  ADD CONSTRAINT user_comment_like_fk_constraint UNIQUE (user_id, comment_id);
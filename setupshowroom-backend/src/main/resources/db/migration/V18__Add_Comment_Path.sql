@@ -0,0 +1,26 @@
+ALTER TABLE comment
+  ADD COLUMN path VARCHAR(84) COLLATE "C";
+
+WITH RECURSIVE tree AS (SELECT c.id, CAST(c.id AS VARCHAR(84)) AS path
+                        FROM comment c
+                        WHERE c.parent_id IS NULL
+                        UNION ALL
+                        SELECT child.id, CAST(tree.path || '/' || child.id AS VARCHAR(84))
+                        FROM comment child
+                               JOIN tree ON child.parent_id = tree.id)
+UPDATE comment c
+SET path = tree.path
+FROM tree
+WHERE tree.id = c.id;
+
+UPDATE comment
+SET path = id
+WHERE path IS NULL;
+
+ALTER TABLE comment
+  ALTER COLUMN path SET NOT NULL;
+
+CREATE INDEX idx_comment_setup_path ON comment (setup_id, path);
+
+CREATE INDEX idx_comment_setup_roots ON comment (setup_id, created_at DESC, id DESC)
+  WHERE depth = 0 AND deleted = false;
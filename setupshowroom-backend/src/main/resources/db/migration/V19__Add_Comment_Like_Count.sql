@@ -0,0 +1,10 @@
+ALTER TABLE comment
+  ADD COLUMN like_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE comment c
+SET like_count = l.like_count
+FROM (SELECT cl.comment_id, count(*) AS like_count
+      FROM comment_like cl
+      WHERE cl.deleted = false
+      GROUP BY cl.comment_id) l
+WHERE l.comment_id = c.id;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_comment_setup_deleted_created_id ON comment (setup_id, deleted, created_at, id);
+
+DROP INDEX idx_comment_setup_deleted;
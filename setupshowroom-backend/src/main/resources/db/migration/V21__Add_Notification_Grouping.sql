@@ -0,0 +1,20 @@
+ALTER TABLE notification
+  ADD COLUMN group_key     VARCHAR(255),
+  ADD COLUMN actor_count   INTEGER NOT NULL DEFAULT 1,
+  ADD COLUMN sample_actors TEXT[];
+
+CREATE UNIQUE INDEX uq_notification_to_group_key
+  ON notification ("to", group_key)
+  WHERE group_key IS NOT NULL;
+
+CREATE TABLE notification_actor
+(
+  notification_id VARCHAR(26) NOT NULL,
+  actor_id        VARCHAR(26) NOT NULL,
+  CONSTRAINT pk_notification_actor PRIMARY KEY (notification_id, actor_id)
+);
+
+ALTER TABLE notification_actor
+  ADD CONSTRAINT FK_NOTIFICATION_ACTOR_ON_NOTIFICATION FOREIGN KEY (notification_id) REFERENCES notification (id) ON DELETE CASCADE;
+
+CREATE INDEX idx_notification_to_updated ON notification ("to", updated_at);
@@ -0,0 +1,166 @@
+package setupshowroom.com;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import com.setupshowroom.comment.dto.CommentForm;
+import com.setupshowroom.setup.SetupCounterService;
+import com.setupshowroom.setup.SetupService;
+import com.setupshowroom.user.User;
+import com.setupshowroom.user.UserRepository;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class CommentInsertBenchmarkTests {
+  private static final int SEEDED_COMMENTS = 100_000;
+  private static final int WARMUP = 100;
+  private static final int SAMPLES = 300;
+  private static final double MAX_SLOWDOWN = 2.0;
+  private static final long NOISE_NANOS = 2_000_000L;
+  private static final Duration PUBLICATION_WAIT = Duration.ofSeconds(30);
+  private static final long POLL_MILLIS = 100;
+
+  @Autowired private SetupService setupService;
+  @Autowired private SetupCounterService setupCounterService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private String userId;
+  private String emptySetupId;
+  private String crowdedSetupId;
+
+  @BeforeEach
+  void setUp() {
+    this.userId = UlidCreator.getUlid().toString();
+    final Timestamp now = Timestamp.from(Instant.now());
+    this.jdbcTemplate.update(
+        """
+        insert into "user" (id, username, email, created_at, updated_at, enabled, deleted, locked)
+        values (?, ?, ?, ?, ?, true, false, false)
+        """,
+        this.userId,
+        "bench-" + this.userId,
+        "bench-" + this.userId + "@setupshowroom.test",
+        now,
+        now);
+
+    this.emptySetupId = this.insertSetup();
+    this.crowdedSetupId = this.insertSetup();
+    this.jdbcTemplate.update(
+        """
+        insert into comment
+          (id, setup_id, content, depth, path, user_id, deleted, created_at, updated_at)
+        select c.id, ?, 'seed', 0, c.id, ?, false, c.created_at, c.created_at
+        from (
+          select left(?, 16) || lpad(cast(g as varchar), 10, '0') as id,
+                 cast(now() as timestamp) - g * interval '1 second' as created_at
+          from generate_series(1, ?) g
+        ) c
+        """,
+        this.crowdedSetupId,
+        this.userId,
+        this.crowdedSetupId,
+        SEEDED_COMMENTS);
+    this.jdbcTemplate.execute("analyze comment");
+  }
+
+  // Every insert also publishes comment events, queues a counter delta and may notify the
+  // owner. Those are let through first so nothing is written back after the cleanup.
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    this.awaitPublications();
+    this.setupCounterService.flush();
+
+    for (final String setupId : new String[] {this.emptySetupId, this.crowdedSetupId}) {
+      this.jdbcTemplate.update(
+          "delete from event_publication where serialized_event like ?", "%" + setupId + "%");
+      this.jdbcTemplate.update(
+          "delete from event_publication_archive where serialized_event like ?",
+          "%" + setupId + "%");
+      this.jdbcTemplate.update(
+          "delete from comment_like where comment_id in "
+              + "(select id from comment where setup_id = ?)",
+          setupId);
+      this.jdbcTemplate.update("delete from comment where setup_id = ?", setupId);
+      this.jdbcTemplate.update("delete from feed_entry where setup_id = ?", setupId);
+      this.jdbcTemplate.update("delete from setup_counter where setup_id = ?", setupId);
+      this.jdbcTemplate.update("delete from setup where id = ?", setupId);
+    }
+    this.jdbcTemplate.update(
+        "delete from notification where \"to\" = ? or user_id = ?", this.userId, this.userId);
+    this.jdbcTemplate.update("delete from \"user\" where id = ?", this.userId);
+  }
+
+  @Test
+  void commentCreationDoesNotScaleWithThreadSize() {
+    final User user = this.userRepository.findById(this.userId).orElseThrow();
+    final CommentForm form = new CommentForm();
+    form.setContent("benchmark");
+
+    this.measure(this.emptySetupId, user, form, WARMUP);
+    this.measure(this.crowdedSetupId, user, form, WARMUP);
+
+    final long empty = this.measure(this.emptySetupId, user, form, SAMPLES);
+    final long crowded = this.measure(this.crowdedSetupId, user, form, SAMPLES);
+    log.info(
+        "Median comment insert: {} us on an empty setup, {} us on a setup with {} comments",
+        empty / 1_000,
+        crowded / 1_000,
+        SEEDED_COMMENTS);
+
+    assertThat(crowded).isLessThanOrEqualTo((long) (empty * MAX_SLOWDOWN) + NOISE_NANOS);
+  }
+
+  private long measure(
+      final String setupId, final User user, final CommentForm form, final int samples) {
+    final long[] nanos = new long[samples];
+    for (int i = 0; i < samples; i++) {
+      final long start = System.nanoTime();
+      this.setupService.addComment(setupId, user, form);
+      nanos[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(nanos);
+    return nanos[samples / 2];
+  }
+
+  private void awaitPublications() throws InterruptedException {
+    final long deadline = System.nanoTime() + PUBLICATION_WAIT.toNanos();
+    while (System.nanoTime() < deadline) {
+      final Long pending =
+          this.jdbcTemplate.queryForObject(
+              "select count(*) from event_publication where completion_date is null", Long.class);
+      if (pending == null || pending == 0) {
+        return;
+      }
+      Thread.sleep(POLL_MILLIS);
+    }
+  }
+
+  private String insertSetup() {
+    final String id = UlidCreator.getUlid().toString();
+    final Timestamp now = Timestamp.from(Instant.now());
+    this.jdbcTemplate.update(
+        """
+        insert into setup (id, title, description, user_id, deleted, created_at, updated_at)
+        values (?, 'bench', 'bench', ?, false, ?, ?)
+        """,
+        id,
+        this.userId,
+        now,
+        now);
+    return id;
+  }
+}
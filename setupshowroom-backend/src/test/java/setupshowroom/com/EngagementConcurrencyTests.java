@@ -0,0 +1,200 @@
+package setupshowroom.com;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import com.setupshowroom.setup.LikeRepository;
+import com.setupshowroom.setup.SetupService;
+import com.setupshowroom.user.User;
+import com.setupshowroom.user.UserRepository;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Tag("benchmark")
+@SpringBootTest
+class EngagementConcurrencyTests {
+  private static final int USERS = 300;
+  private static final int CLICKS_PER_USER = 2;
+  private static final int DOUBLE_CLICKS = 500;
+  private static final Duration PUBLICATION_WAIT = Duration.ofSeconds(30);
+  private static final long POLL_MILLIS = 100;
+
+  @Autowired private SetupService setupService;
+  @Autowired private LikeRepository likeRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final List<String> userIds = new ArrayList<>();
+  private String setupId;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < USERS; i++) {
+      this.userIds.add(this.insertUser());
+    }
+
+    this.setupId = UlidCreator.getUlid().toString();
+    this.jdbcTemplate.update(
+        """
+        insert into setup (id, title, description, user_id, deleted, created_at, updated_at)
+        values (?, 'stress', 'stress', ?, false, ?, ?)
+        """,
+        this.setupId,
+        this.userIds.getFirst(),
+        Timestamp.from(Instant.now()),
+        Timestamp.from(Instant.now()));
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    this.awaitPublications();
+    this.jdbcTemplate.update("delete from notification where \"to\" = ?", this.userIds.getFirst());
+    this.jdbcTemplate.update("delete from \"like\" where setup_id = ?", this.setupId);
+    this.jdbcTemplate.update("delete from favorite where setup_id = ?", this.setupId);
+    this.jdbcTemplate.update("delete from setup where id = ?", this.setupId);
+    for (final String userId : this.userIds) {
+      this.jdbcTemplate.update("delete from \"user\" where id = ?", userId);
+    }
+    this.userIds.clear();
+  }
+
+  @Test
+  void doubleClickedLikeIsStoredOnce() throws InterruptedException {
+    final User user = this.userRepository.findById(this.userIds.getFirst()).orElseThrow();
+    final List<User> clicks = new ArrayList<>();
+    for (int i = 0; i < DOUBLE_CLICKS; i++) {
+      clicks.add(user);
+    }
+
+    final Result liked = this.hammer(clicks, u -> this.setupService.like(this.setupId, u));
+
+    assertThat(liked.errors()).isEmpty();
+    assertThat(liked.transitions()).isEqualTo(1);
+    assertThat(this.likeRepository.countBySetupIdAndDeletedFalse(this.setupId)).isEqualTo(1);
+
+    final Result unliked = this.hammer(clicks, u -> this.setupService.unlike(this.setupId, u));
+
+    assertThat(unliked.errors()).isEmpty();
+    assertThat(unliked.transitions()).isEqualTo(1);
+    assertThat(this.likeRepository.countBySetupIdAndDeletedFalse(this.setupId)).isZero();
+  }
+
+  @Test
+  void concurrentLikesAndFavoritesKeepExactCounts() throws InterruptedException {
+    final List<User> clicks = new ArrayList<>();
+    for (final User user : this.userRepository.findAllById(this.userIds)) {
+      for (int i = 0; i < CLICKS_PER_USER; i++) {
+        clicks.add(user);
+      }
+    }
+
+    final Result liked = this.hammer(clicks, u -> this.setupService.like(this.setupId, u));
+    final Result favorited =
+        this.hammer(clicks, u -> this.setupService.addToFavorite(this.setupId, u));
+
+    assertThat(liked.errors()).isEmpty();
+    assertThat(favorited.errors()).isEmpty();
+    assertThat(liked.transitions()).isEqualTo(USERS);
+    assertThat(favorited.transitions()).isEqualTo(USERS);
+    assertThat(this.likeRepository.countBySetupIdAndDeletedFalse(this.setupId)).isEqualTo(USERS);
+    assertThat(this.countFavorites()).isEqualTo(USERS);
+
+    final User owner = this.userRepository.findById(this.userIds.getFirst()).orElseThrow();
+    assertThat(this.setupService.findSetupById(owner, this.setupId).getLikes()).isEqualTo(USERS);
+
+    final Result unliked = this.hammer(clicks, u -> this.setupService.unlike(this.setupId, u));
+    final Result unfavorited =
+        this.hammer(clicks, u -> this.setupService.removeFromFavorite(this.setupId, u));
+
+    assertThat(unliked.errors()).isEmpty();
+    assertThat(unfavorited.errors()).isEmpty();
+    assertThat(unliked.transitions()).isEqualTo(USERS);
+    assertThat(unfavorited.transitions()).isEqualTo(USERS);
+    assertThat(this.likeRepository.countBySetupIdAndDeletedFalse(this.setupId)).isZero();
+    assertThat(this.countFavorites()).isZero();
+  }
+
+  private Result hammer(final List<User> clicks, final Predicate<User> action)
+      throws InterruptedException {
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicInteger transitions = new AtomicInteger();
+    final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (final User user : clicks) {
+        executor.execute(
+            () -> {
+              try {
+                start.await();
+                if (action.test(user)) {
+                  transitions.incrementAndGet();
+                }
+              } catch (final Throwable e) {
+                errors.add(e);
+              }
+            });
+      }
+      start.countDown();
+    }
+
+    return new Result(transitions.get(), List.copyOf(errors));
+  }
+
+  private String insertUser() {
+    final String id = UlidCreator.getUlid().toString();
+    final Timestamp now = Timestamp.from(Instant.now());
+    this.jdbcTemplate.update(
+        """
+        insert into "user" (id, username, email, created_at, updated_at, enabled, deleted, locked)
+        values (?, ?, ?, ?, ?, true, false, false)
+        """,
+        id,
+        "stress-" + id,
+        "stress-" + id + "@setupshowroom.test",
+        now,
+        now);
+    return id;
+  }
+
+  // Like notifications are created by async module listeners; let them finish before the
+  // users they reference are removed.
+  private void awaitPublications() throws InterruptedException {
+    final long deadline = System.nanoTime() + PUBLICATION_WAIT.toNanos();
+    while (System.nanoTime() < deadline) {
+      final Long pending =
+          this.jdbcTemplate.queryForObject(
+              "select count(*) from event_publication where completion_date is null", Long.class);
+      if (pending == null || pending == 0) {
+        return;
+      }
+      Thread.sleep(POLL_MILLIS);
+    }
+  }
+
+  private long countFavorites() {
+    final Long count =
+        this.jdbcTemplate.queryForObject(
+            "select count(*) from favorite where setup_id = ? and deleted = false",
+            Long.class,
+            this.setupId);
+    return count == null ? 0 : count;
+  }
+
+  private record Result(int transitions, List<Throwable> errors) {}
+}
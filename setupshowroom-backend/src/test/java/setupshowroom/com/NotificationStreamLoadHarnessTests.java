@@ -0,0 +1,190 @@
+package setupshowroom.com;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.setupshowroom.notification.NotificationConnectionRegistry;
+import com.setupshowroom.notification.NotificationStreamConfigProps;
+import com.setupshowroom.notification.NotificationStreamGateway;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@Tag("benchmark")
+class NotificationStreamLoadHarnessTests {
+  private static final int CONNECTIONS = 100_000;
+  private static final int CONNECTIONS_PER_USER = 2;
+  private static final int STALL_CASE_CONNECTIONS = 1_000;
+  private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(10);
+  private static final int HEARTBEAT_SHARDS = 50;
+  private static final Duration SEND_TIMEOUT = Duration.ofSeconds(5);
+  private static final Duration SETTLE = Duration.ofSeconds(3);
+  private static final int QUEUE_CAPACITY = 8;
+  private static final int SCHEDULER_THREADS = 2;
+  private static final int GC_ROUNDS = 3;
+  private static final long GC_PAUSE_MILLIS = 100;
+  private static final double PERCENT = 100;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+  private NotificationConnectionRegistry registry;
+  private NotificationStreamGateway gateway;
+
+  @BeforeEach
+  void setUp() {
+    final NotificationStreamConfigProps props = new NotificationStreamConfigProps();
+    props.setEmitterTimeout(Duration.ofHours(1));
+    props.setHeartbeatInterval(HEARTBEAT_INTERVAL);
+    props.setHeartbeatShards(HEARTBEAT_SHARDS);
+    props.setQueueCapacity(QUEUE_CAPACITY);
+    props.setSendTimeout(SEND_TIMEOUT);
+
+    this.scheduler.setPoolSize(SCHEDULER_THREADS);
+    this.scheduler.initialize();
+    this.registry = new NotificationConnectionRegistry(props, this.meterRegistry);
+    this.gateway =
+        new NotificationStreamGateway(this.registry, props, this.scheduler, this.meterRegistry);
+    this.gateway.init();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    this.gateway.destroy();
+    this.scheduler.shutdown();
+  }
+
+  @Test
+  void holdsIdleConnectionsAndHeartbeatsAllOfThem() throws InterruptedException {
+    final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    final long heapBefore = usedHeap(memory);
+
+    final List<IdleEmitter> emitters = new ArrayList<>(CONNECTIONS);
+    for (int i = 0; i < CONNECTIONS; i++) {
+      final IdleEmitter emitter = new IdleEmitter();
+      emitters.add(emitter);
+      this.gateway.attach("user-" + (i / CONNECTIONS_PER_USER), emitter);
+    }
+
+    Thread.sleep(SETTLE.toMillis());
+    final long heapPerConnection = (usedHeap(memory) - heapBefore) / CONNECTIONS;
+    assertThat(this.registry.size()).isEqualTo(CONNECTIONS);
+
+    Thread.sleep(HEARTBEAT_INTERVAL.plus(SETTLE).toMillis());
+
+    final long missed = emitters.stream().filter(emitter -> !emitter.heartbeat).count();
+    final Timer latency = this.meterRegistry.get("notification.sse.heartbeat.latency").timer();
+    final double evictions = this.meterRegistry.get("notification.sse.evictions").counter().count();
+
+    log.info("{} connections, ~{} bytes of heap each", CONNECTIONS, heapPerConnection);
+    for (final ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+      log.info(
+          "Heartbeat latency p{}: {} us",
+          percentile.percentile() * PERCENT,
+          (long) percentile.value(TimeUnit.MICROSECONDS));
+    }
+
+    assertThat(missed).isZero();
+    assertThat(evictions).isZero();
+    assertThat(latency.max(TimeUnit.MILLISECONDS)).isLessThan(SEND_TIMEOUT.toMillis());
+  }
+
+  // A client that stops reading blocks its write, and completing its emitter blocks on the
+  // same write. Eviction must not take the heartbeat scheduler down with it.
+  @Test
+  void evictsStalledStreamWithoutStallingHeartbeats() throws InterruptedException {
+    final StalledEmitter stalled = new StalledEmitter();
+    final List<IdleEmitter> emitters = new ArrayList<>(STALL_CASE_CONNECTIONS);
+    try {
+      this.gateway.attach("stalled-user", stalled);
+      for (int i = 0; i < STALL_CASE_CONNECTIONS; i++) {
+        final IdleEmitter emitter = new IdleEmitter();
+        emitters.add(emitter);
+        this.gateway.attach("user-" + i, emitter);
+      }
+
+      Thread.sleep(SEND_TIMEOUT.plus(SETTLE).toMillis());
+
+      assertThat(this.meterRegistry.get("notification.sse.evictions").counter().count())
+          .isEqualTo(1);
+      assertThat(stalled.completing).isTrue();
+      assertThat(this.registry.size()).isEqualTo(STALL_CASE_CONNECTIONS);
+
+      emitters.forEach(emitter -> emitter.heartbeat = false);
+      Thread.sleep(HEARTBEAT_INTERVAL.plus(SETTLE).toMillis());
+
+      assertThat(emitters.stream().filter(emitter -> !emitter.heartbeat).count()).isZero();
+    } finally {
+      stalled.release.countDown();
+    }
+  }
+
+  private static long usedHeap(final MemoryMXBean memory) throws InterruptedException {
+    for (int i = 0; i < GC_ROUNDS; i++) {
+      System.gc();
+      Thread.sleep(GC_PAUSE_MILLIS);
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+  // Stands in for a client that stopped reading: the first write never returns, and
+  // completing waits for it the way the emitter's write lock would.
+  private static final class StalledEmitter extends SseEmitter {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean completing;
+
+    StalledEmitter() {
+      super(0L);
+    }
+
+    @Override
+    public void send(final SseEventBuilder builder) {
+      this.await();
+    }
+
+    @Override
+    public void complete() {
+      this.completing = true;
+      this.await();
+    }
+
+    private void await() {
+      try {
+        this.release.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  // Stands in for a connected client: writes complete immediately and only the first
+  // heartbeat is remembered.
+  private static final class IdleEmitter extends SseEmitter {
+    private volatile boolean heartbeat;
+
+    IdleEmitter() {
+      super(0L);
+    }
+
+    @Override
+    public void send(final SseEventBuilder builder) {
+      final String frame = builder.build().iterator().next().getData().toString();
+      if (frame.contains("event:heartbeat")) {
+        this.heartbeat = true;
+      }
+    }
+  }
+}